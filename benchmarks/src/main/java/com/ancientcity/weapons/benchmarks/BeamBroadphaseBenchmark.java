@@ -0,0 +1,176 @@
+package com.ancientcity.weapons.benchmarks;
+
+import com.ancientcity.weapons.beam.BeamHits;
+import com.ancientcity.weapons.beam.BeamTracer;
+import com.ancientcity.weapons.beam.SectionWalk;
+import com.ancientcity.weapons.cage.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Beam target lookup in a mob farm: the original cube query around the beam midpoint against
+ * the section walk, each followed by the same slab test. Mobs are bucketed by chunk section and
+ * box queries scan the overlapping sections, like the server's entity lookup.
+ *
+ * <p>Setup prints how many candidates each lookup hands to the slab test, and fails if the two
+ * find different hits.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeamBroadphaseBenchmark {
+
+    private static final double WIDTH = 1.0;
+    private static final double ORIGIN_X = 0.5;
+    private static final double ORIGIN_Y = 70.0;
+    private static final double ORIGIN_Z = 0.5;
+
+    @Param({"4", "8", "16", "32", "64"})
+    public double range;
+
+    @Param({"1000", "10000"})
+    public int crowd;
+
+    private double dirX;
+    private double dirY;
+    private double dirZ;
+    // Hitbox corners, six per mob, and the mobs in each packed section position
+    private double[] boxes;
+    private final Map<Long, int[]> sections = new HashMap<>();
+    private final SectionWalk walk = new SectionWalk();
+    private final BeamHits<Integer> hits = new BeamHits<>();
+    private int scanned;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        double length = Math.sqrt(1 + 0.04 + 0.36);
+        dirX = 1 / length;
+        dirY = 0.2 / length;
+        dirZ = 0.6 / length;
+
+        // A 96x32x96 farm that the longest beam crosses diagonally
+        boxes = new double[crowd * 6];
+        Map<Long, List<Integer>> members = new HashMap<>();
+        for (int i = 0; i < crowd; i++) {
+            double x = -16 + random.nextDouble() * 96;
+            double y = 64 + random.nextDouble() * 32;
+            double z = -16 + random.nextDouble() * 96;
+            boxes[i * 6] = x - 0.3;
+            boxes[i * 6 + 1] = y;
+            boxes[i * 6 + 2] = z - 0.3;
+            boxes[i * 6 + 3] = x + 0.3;
+            boxes[i * 6 + 4] = y + 1.95;
+            boxes[i * 6 + 5] = z + 0.3;
+            members.computeIfAbsent(sectionKey(x, y, z), key -> new ArrayList<>()).add(i);
+        }
+        sections.clear();
+        members.forEach((key, mobs) -> sections.put(key, mobs.stream().mapToInt(Integer::intValue).toArray()));
+
+        int cubeHits = cubeQuery();
+        int cubeScanned = scanned;
+        int walkHits = sectionWalk();
+        if (cubeHits != walkHits) {
+            throw new IllegalStateException("Cube query hit " + cubeHits + " mobs but the section walk hit " + walkHits);
+        }
+        System.out.printf("%nrange %.0f, crowd %d: cube query %d candidates, section walk %d candidates, %d hits%n",
+                range, crowd, cubeScanned, scanned, walkHits);
+    }
+
+    /**
+     * The lookup fireWardenBeam used before: one cube of half-size range / 2 + width around the midpoint.
+     */
+    @Benchmark
+    public int cubeQuery() {
+        double half = range / 2;
+        double centerX = ORIGIN_X + dirX * half;
+        double centerY = ORIGIN_Y + dirY * half;
+        double centerZ = ORIGIN_Z + dirZ * half;
+        double search = half + WIDTH;
+        scanned = 0;
+        try {
+            collect(centerX - search, centerY - search, centerZ - search,
+                    centerX + search, centerY + search, centerZ + search, null);
+            return hits.size();
+        } finally {
+            hits.clear();
+        }
+    }
+
+    @Benchmark
+    public int sectionWalk() {
+        double radius = WIDTH / 2;
+        scanned = 0;
+        try {
+            walk.start(ORIGIN_X, ORIGIN_Y, ORIGIN_Z, dirX, dirY, dirZ, range);
+            while (walk.next()) {
+                collect(walk.minX() - radius, walk.minY() - radius, walk.minZ() - radius,
+                        walk.maxX() + radius, walk.maxY() + radius, walk.maxZ() + radius, walk);
+            }
+            return hits.size();
+        } finally {
+            hits.clear();
+        }
+    }
+
+    /**
+     * Finds the mobs whose hitboxes overlap a box and slab-tests each against the beam.
+     *
+     * @param owner The walk whose current section must own a hit, or null to keep every hit
+     */
+    private void collect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, SectionWalk owner) {
+        double radius = WIDTH / 2;
+        // Hitboxes reach up to two blocks out of the section holding their feet
+        int minSectionX = (int) Math.floor(minX - 1) >> 4;
+        int minSectionY = (int) Math.floor(minY - 2) >> 4;
+        int minSectionZ = (int) Math.floor(minZ - 1) >> 4;
+        int maxSectionX = (int) Math.floor(maxX + 1) >> 4;
+        int maxSectionY = (int) Math.floor(maxY + 1) >> 4;
+        int maxSectionZ = (int) Math.floor(maxZ + 1) >> 4;
+        for (int sectionX = minSectionX; sectionX <= maxSectionX; sectionX++) {
+            for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; sectionZ++) {
+                    int[] mobs = sections.get(BlockPos.pack(sectionX, sectionY, sectionZ));
+                    if (mobs == null) continue;
+
+                    for (int mob : mobs) {
+                        int base = mob * 6;
+                        if (boxes[base] > maxX || boxes[base + 3] < minX
+                                || boxes[base + 1] > maxY || boxes[base + 4] < minY
+                                || boxes[base + 2] > maxZ || boxes[base + 5] < minZ) continue;
+
+                        scanned++;
+                        double distance = BeamTracer.intersect(ORIGIN_X, ORIGIN_Y, ORIGIN_Z, dirX, dirY, dirZ, range, radius,
+                                boxes[base], boxes[base + 1], boxes[base + 2], boxes[base + 3], boxes[base + 4], boxes[base + 5]);
+                        if (distance >= 0 && (owner == null || owner.owns(distance))) {
+                            hits.add(mob, distance);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static long sectionKey(double x, double y, double z) {
+        return BlockPos.pack((int) Math.floor(x) >> 4, (int) Math.floor(y) >> 4, (int) Math.floor(z) >> 4);
+    }
+}
@@ -0,0 +1,108 @@
+package com.ancientcity.weapons.benchmarks;
+
+import com.ancientcity.weapons.beam.BeamHits;
+import com.ancientcity.weapons.beam.BeamTracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Beam target tests over a crowd of mob-sized boxes spread through the broadphase cube:
+ * the original point sampling every 0.25 blocks against the exact slab test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeamTargetingBenchmark {
+
+    private static final double WIDTH = 1.0;
+    private static final double STEP = 0.25;
+
+    @Param({"4", "16", "64"})
+    public double range;
+
+    @Param({"10", "100", "1000"})
+    public int crowd;
+
+    // Beam along +X from the origin; box minimum corners and feet positions per entity
+    private double dirX;
+    private double dirY;
+    private double dirZ;
+    private double[] boxes;
+    private final BeamHits<Integer> hits = new BeamHits<>();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        double length = Math.sqrt(1 + 0.04 + 0.01);
+        dirX = 1 / length;
+        dirY = 0.2 / length;
+        dirZ = 0.1 / length;
+
+        // Same cube the listener's getNearbyEntities query returns candidates from
+        double half = range / 2 + 1;
+        boxes = new double[crowd * 3];
+        for (int i = 0; i < crowd; i++) {
+            boxes[i * 3] = range / 2 + (random.nextDouble() * 2 - 1) * half;
+            boxes[i * 3 + 1] = (random.nextDouble() * 2 - 1) * half;
+            boxes[i * 3 + 2] = (random.nextDouble() * 2 - 1) * half;
+        }
+    }
+
+    @Benchmark
+    public int legacyPointSampling() {
+        Set<Integer> damaged = new HashSet<>();
+        double threshold = (WIDTH / 2) * (WIDTH / 2) + 1;
+        for (double d = 0; d <= range; d += STEP) {
+            double px = dirX * d;
+            double py = dirY * d;
+            double pz = dirZ * d;
+            for (int i = 0; i < crowd; i++) {
+                if (damaged.contains(i)) continue;
+                double dx = boxes[i * 3] + 0.3 - px;
+                double dy = boxes[i * 3 + 1] - py;
+                double dz = boxes[i * 3 + 2] + 0.3 - pz;
+                if (dx * dx + dy * dy + dz * dz <= threshold) {
+                    damaged.add(i);
+                }
+            }
+        }
+        return damaged.size();
+    }
+
+    @Benchmark
+    public int slabTest() {
+        double radius = WIDTH / 2;
+        try {
+            for (int i = 0; i < crowd; i++) {
+                double minX = boxes[i * 3];
+                double minY = boxes[i * 3 + 1];
+                double minZ = boxes[i * 3 + 2];
+                double distance = BeamTracer.intersect(0, 0, 0, dirX, dirY, dirZ, range, radius,
+                        minX, minY, minZ, minX + 0.6, minY + 1.8, minZ + 0.6);
+                if (distance >= 0) {
+                    hits.add(i, distance);
+                }
+            }
+            return hits.size();
+        } finally {
+            hits.clear();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ancientcity.weapons.benchmarks;
+
+import com.ancientcity.weapons.cage.CageShape;
+import com.ancientcity.weapons.cage.CageShells;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cage shell generation: the original per-cast sphere loop against the precomputed tables.
+ * The sphere loop only ever built spheres, so it runs per radius alone rather than once per shape.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CageShellBenchmark {
+
+    /**
+     * Parameters of the original sphere loop.
+     */
+    @State(Scope.Benchmark)
+    public static class SphereParams {
+
+        @Param({"4", "8", "16", "32"})
+        public int radius;
+    }
+
+    /**
+     * Parameters of the shell tables.
+     */
+    @State(Scope.Benchmark)
+    public static class ShellParams {
+
+        @Param({"4", "8", "16", "32"})
+        public int radius;
+
+        @Param({"SPHERE", "DOME", "CYLINDER", "CUBE"})
+        public CageShape shape;
+    }
+
+    /**
+     * The loop createCage ran on every cast before shells were cached, minus the block writes.
+     */
+    @Benchmark
+    public int[] legacySphereLoop(SphereParams params) {
+        int radius = params.radius;
+        int[] offsets = new int[64];
+        int count = 0;
+        for (int x = -radius; x <= radius; x++) {
+            for (int y = -radius; y <= radius; y++) {
+                for (int z = -radius; z <= radius; z++) {
+                    double distance = Math.sqrt(x * x + y * y + z * z);
+                    if (distance >= radius - 0.5 && distance <= radius + 0.5) {
+                        if (count == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, count * 2);
+                        }
+                        offsets[count++] = CageShells.pack(x, y, z);
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    @Benchmark
+    public int[] compute(ShellParams params) {
+        return CageShells.compute(params.shape, params.radius);
+    }
+
+    @Benchmark
+    public int[] cachedTable(ShellParams params) {
+        return CageShells.get(params.shape, params.radius);
+    }
+}
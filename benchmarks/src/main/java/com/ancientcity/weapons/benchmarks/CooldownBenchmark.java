@@ -0,0 +1,85 @@
+package com.ancientcity.weapons.benchmarks;
+
+import com.ancientcity.weapons.managers.CooldownStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooldown lookups and writes: the original boxed map per ability against {@link CooldownStore}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CooldownBenchmark {
+
+    private static final int SLOTS = 2;
+
+    @Param({"100", "10000", "100000"})
+    public int players;
+
+    private UUID[] uuids;
+    private Map<UUID, Long> legacyBeam;
+    private Map<UUID, Long> legacyCage;
+    private CooldownStore store;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        uuids = new UUID[players];
+        legacyBeam = new HashMap<>();
+        legacyCage = new HashMap<>();
+        store = new CooldownStore(SLOTS);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < players; i++) {
+            uuids[i] = UUID.randomUUID();
+            legacyBeam.put(uuids[i], now + i);
+            legacyCage.put(uuids[i], now + i);
+            store.setExpiry(uuids[i], 0, now + i);
+            store.setExpiry(uuids[i], 1, now + i);
+        }
+    }
+
+    private UUID next() {
+        UUID uuid = uuids[cursor];
+        cursor = cursor + 1 == uuids.length ? 0 : cursor + 1;
+        return uuid;
+    }
+
+    @Benchmark
+    public boolean legacyMapLookup() {
+        Long expiry = legacyBeam.get(next());
+        return expiry != null && System.currentTimeMillis() < expiry;
+    }
+
+    @Benchmark
+    public boolean storeLookup() {
+        return System.currentTimeMillis() < store.getExpiry(next(), 0);
+    }
+
+    @Benchmark
+    public void legacyMapWrite() {
+        legacyCage.put(next(), System.currentTimeMillis() + 60_000L);
+    }
+
+    @Benchmark
+    public void storeWrite() {
+        store.setExpiry(next(), 1, System.currentTimeMillis() + 60_000L);
+    }
+}
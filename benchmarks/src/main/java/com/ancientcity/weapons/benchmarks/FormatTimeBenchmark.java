@@ -0,0 +1,34 @@
+package com.ancientcity.weapons.benchmarks;
+
+import com.ancientcity.weapons.util.TimeFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooldown message formatting, cycling through every remaining time a 90 second cooldown shows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatTimeBenchmark {
+
+    private int seconds;
+
+    @Benchmark
+    public String format() {
+        seconds = seconds == 90 ? 1 : seconds + 1;
+        return TimeFormat.format(seconds);
+    }
+}
@@ -0,0 +1,173 @@
+package com.ancientcity.weapons.benchmarks;
+
+import com.ancientcity.weapons.ability.AbilityRegistry;
+import com.ancientcity.weapons.ability.BarrierCageAbility;
+import com.ancientcity.weapons.ability.WardenBeamAbility;
+import com.ancientcity.weapons.managers.ItemManager;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item classification on the click path: ItemManager.classify against the original chain of
+ * isWardenBeam then isBarrierCage, each of which copied the item meta of any item that had one.
+ * Items are stand-ins whose getItemMeta returns a fresh copy, as the server's does, and counts
+ * the calls; setup prints the meta reads per item for each path. Run with {@code -prof gc} to
+ * see the allocation that the material pre-check and single meta read save.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemClassificationBenchmark {
+
+    private static final int ITEM_COUNT = 1024;
+
+    // Mostly ordinary items, as on a real server, some carrying meta of their own, with some of each weapon
+    private CountingItem[] items;
+    private int cursor;
+    private ItemManager itemManager;
+    private NamespacedKey itemIdKey;
+
+    @Setup
+    public void setup() {
+        // Only the abilities' descriptors are used, so they need no plugin
+        AbilityRegistry abilities = new AbilityRegistry();
+        abilities.register(new WardenBeamAbility(null));
+        abilities.register(new BarrierCageAbility(null));
+        itemManager = new ItemManager(abilities);
+        itemIdKey = itemManager.getItemIdKey();
+
+        Material[] common = {Material.DIAMOND_SWORD, Material.BOW, Material.COBBLESTONE, Material.BREAD,
+                Material.DISC_FRAGMENT_5, Material.HEAVY_CORE, Material.TORCH, Material.ENDER_PEARL};
+        items = new CountingItem[ITEM_COUNT];
+        for (int i = 0; i < items.length; i++) {
+            Material material = common[i % common.length];
+            String itemId = null;
+            boolean hasMeta = material == Material.DIAMOND_SWORD || material == Material.BOW;
+            if (material == Material.DISC_FRAGMENT_5) {
+                itemId = WardenBeamAbility.ID;
+                hasMeta = true;
+            } else if (material == Material.HEAVY_CORE) {
+                itemId = BarrierCageAbility.ID;
+                hasMeta = true;
+            }
+            items[i] = new CountingItem(material, hasMeta, itemId, itemIdKey);
+        }
+
+        long classifyReads = 0;
+        long legacyReads = 0;
+        for (CountingItem item : items) {
+            long before = CountingItem.metaReads;
+            int slot = itemManager.classify(item);
+            classifyReads += CountingItem.metaReads - before;
+            before = CountingItem.metaReads;
+            int legacySlot = legacyClassify(item);
+            legacyReads += CountingItem.metaReads - before;
+            if (slot != legacySlot) {
+                throw new IllegalStateException("classify and the legacy chain disagree on " + item.getType());
+            }
+        }
+        System.out.printf("%ngetItemMeta calls per item: classify %.3f, legacy chain %.3f%n",
+                classifyReads / (double) ITEM_COUNT, legacyReads / (double) ITEM_COUNT);
+    }
+
+    @Benchmark
+    public int classify() {
+        int index = cursor;
+        cursor = (cursor + 1) & (ITEM_COUNT - 1);
+        return itemManager.classify(items[index]);
+    }
+
+    @Benchmark
+    public int legacyChain() {
+        int index = cursor;
+        cursor = (cursor + 1) & (ITEM_COUNT - 1);
+        return legacyClassify(items[index]);
+    }
+
+    /**
+     * The click handling before the registry: one full check per weapon, in listener order.
+     */
+    private int legacyClassify(ItemStack item) {
+        if (isWardenBeam(item)) {
+            return 0;
+        }
+        if (isBarrierCage(item)) {
+            return 1;
+        }
+        return -1;
+    }
+
+    private boolean isWardenBeam(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return false;
+        }
+        ItemMeta meta = item.getItemMeta();
+        String id = meta.getPersistentDataContainer().get(itemIdKey, PersistentDataType.STRING);
+        return WardenBeamAbility.ID.equals(id);
+    }
+
+    private boolean isBarrierCage(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return false;
+        }
+        ItemMeta meta = item.getItemMeta();
+        String id = meta.getPersistentDataContainer().get(itemIdKey, PersistentDataType.STRING);
+        return BarrierCageAbility.ID.equals(id);
+    }
+
+    /**
+     * An item whose getItemMeta hands out a new meta and data container on every call,
+     * like the server's item stacks, and counts the calls.
+     */
+    private static final class CountingItem extends ItemStack {
+
+        // Benchmarks run on one thread; only compared before and after a loop in setup
+        static long metaReads;
+
+        private final boolean hasMeta;
+        private final String itemId;
+        private final NamespacedKey itemIdKey;
+
+        CountingItem(Material material, boolean hasMeta, String itemId, NamespacedKey itemIdKey) {
+            super(material);
+            this.hasMeta = hasMeta;
+            this.itemId = itemId;
+            this.itemIdKey = itemIdKey;
+        }
+
+        @Override
+        public boolean hasItemMeta() {
+            return hasMeta;
+        }
+
+        @Override
+        public ItemMeta getItemMeta() {
+            metaReads++;
+            PersistentDataContainer container = (PersistentDataContainer) Proxy.newProxyInstance(
+                    PersistentDataContainer.class.getClassLoader(), new Class<?>[]{PersistentDataContainer.class},
+                    (proxy, method, args) -> "get".equals(method.getName()) && itemIdKey.equals(args[0]) ? itemId : null);
+            return (ItemMeta) Proxy.newProxyInstance(ItemMeta.class.getClassLoader(), new Class<?>[]{ItemMeta.class},
+                    (proxy, method, args) -> "getPersistentDataContainer".equals(method.getName()) ? container : null);
+        }
+    }
+}
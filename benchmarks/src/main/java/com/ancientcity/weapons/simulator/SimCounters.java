@@ -0,0 +1,34 @@
+package com.ancientcity.weapons.simulator;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Side effects the plugin had on the simulated server.
+ * Counted from every region thread when the simulator runs region-threaded.
+ */
+final class SimCounters {
+
+    final LongAdder blockWrites = new LongAdder();
+    final LongAdder blockChanges = new LongAdder();
+    final LongAdder particlePackets = new LongAdder();
+    final LongAdder sounds = new LongAdder();
+    final LongAdder damageEvents = new LongAdder();
+    final LongAdder messages = new LongAdder();
+    final LongAdder cooldownRejections = new LongAdder();
+    final LongAdder beamsFired = new LongAdder();
+    final LongAdder cagesCreated = new LongAdder();
+    final LongAdder actionBars = new LongAdder();
+
+    void reset() {
+        blockWrites.reset();
+        blockChanges.reset();
+        particlePackets.reset();
+        sounds.reset();
+        damageEvents.reset();
+        messages.reset();
+        cooldownRejections.reset();
+        beamsFired.reset();
+        cagesCreated.reset();
+        actionBars.reset();
+    }
+}
@@ -0,0 +1,128 @@
+package com.ancientcity.weapons.simulator;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Stand-in for players and mobs at a fixed position.
+ */
+final class SimEntity extends SimHandler {
+
+    private static final double EYE_HEIGHT = 1.62;
+
+    private final UUID uuid = UUID.randomUUID();
+    private final String name;
+    private final boolean player;
+    private final SimWorld world;
+    private final SimCounters counters;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float yaw;
+    private final float pitch;
+    private final Player.Spigot spigot = new Player.Spigot() {
+        @Override
+        public void sendMessage(ChatMessageType position, BaseComponent component) {
+            if (position == ChatMessageType.ACTION_BAR) {
+                counters.actionBars.increment();
+            }
+        }
+
+        @Override
+        public void sendMessage(ChatMessageType position, BaseComponent... components) {
+            if (position == ChatMessageType.ACTION_BAR) {
+                counters.actionBars.increment();
+            }
+        }
+    };
+
+    private SimEntity(String name, boolean player, SimWorld world, SimCounters counters,
+                      double x, double y, double z, float yaw, float pitch) {
+        this.name = name;
+        this.player = player;
+        this.world = world;
+        this.counters = counters;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+    }
+
+    static Player player(String name, SimWorld world, SimCounters counters, double x, double z, float yaw, float pitch) {
+        Player player = proxy(Player.class, new SimEntity(name, true, world, counters, x, SimWorld.GROUND_Y, z, yaw, pitch));
+        world.addPlayer(player, x, z);
+        return player;
+    }
+
+    static LivingEntity mob(SimWorld world, SimCounters counters, double x, double z) {
+        LivingEntity mob = proxy(LivingEntity.class, new SimEntity("zombie", false, world, counters, x, SimWorld.GROUND_Y, z, 0, 0));
+        world.addEntity(mob, x, z);
+        return mob;
+    }
+
+    @Override
+    Object handle(Object proxy, String method, Object[] args) {
+        switch (method) {
+            case "getUniqueId":
+                return uuid;
+            case "getName":
+            case "getDisplayName":
+                return name;
+            case "getWorld":
+                return world.world;
+            case "getLocation":
+                return args.length == 0 ? new Location(world.world, x, y, z, yaw, pitch) : UNHANDLED;
+            case "getEyeLocation":
+                return new Location(world.world, x, y + EYE_HEIGHT, z, yaw, pitch);
+            case "getBoundingBox":
+                return new BoundingBox(x - 0.3, y, z - 0.3, x + 0.3, y + (player ? 1.8 : 1.95), z + 0.3);
+            case "getType":
+                return player ? EntityType.PLAYER : EntityType.ZOMBIE;
+            case "damage":
+                counters.damageEvents.increment();
+                return null;
+            case "sendMessage":
+                if (args.length == 1 && args[0] instanceof String message) {
+                    recordMessage(message);
+                }
+                return null;
+            case "spawnParticle":
+                counters.particlePackets.increment();
+                return null;
+            case "spigot":
+                return player ? spigot : UNHANDLED;
+            case "sendBlockChanges":
+                counters.blockChanges.add(((Collection<?>) args[0]).size());
+                return null;
+            case "hasPermission":
+            case "isOnline":
+            case "isValid":
+            case "isOp":
+                return true;
+            case "getHealth":
+                return 20.0;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+    private void recordMessage(String message) {
+        counters.messages.increment();
+        if (message.contains("on cooldown")) {
+            counters.cooldownRejections.increment();
+        } else if (message.contains("fired")) {
+            counters.beamsFired.increment();
+        } else if (message.contains("activated")) {
+            counters.cagesCreated.increment();
+        }
+    }
+}
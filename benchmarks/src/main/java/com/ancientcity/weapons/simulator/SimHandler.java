@@ -0,0 +1,69 @@
+package com.ancientcity.weapons.simulator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base for the dynamic-proxy stand-ins of Bukkit interfaces.
+ * Subclasses answer the methods the plugin actually calls; everything else returns
+ * a harmless default so unrelated API calls do not fail.
+ */
+abstract class SimHandler implements InvocationHandler {
+
+    /** Returned by {@link #handle} for methods the stand-in does not implement. */
+    static final Object UNHANDLED = new Object();
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, SimHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @Override
+    public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object[] arguments = args == null ? new Object[0] : args;
+        switch (method.getName()) {
+            case "equals":
+                if (arguments.length == 1) return proxy == arguments[0];
+                break;
+            case "hashCode":
+                if (arguments.length == 0) return System.identityHashCode(proxy);
+                break;
+            case "toString":
+                if (arguments.length == 0) return getClass().getSimpleName();
+                break;
+            default:
+                break;
+        }
+
+        Object result = handle(proxy, method.getName(), arguments);
+        return result == UNHANDLED ? defaultValue(method.getReturnType()) : result;
+    }
+
+    /**
+     * Answers a proxied call.
+     *
+     * @return The result, or {@link #UNHANDLED} for the default value
+     */
+    abstract Object handle(Object proxy, String method, Object[] args);
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+        if (type == String.class) return "";
+        if (type == List.class || type == java.util.Collection.class) return Collections.emptyList();
+        if (type == Set.class) return Collections.emptySet();
+        if (type == Map.class) return Collections.emptyMap();
+        return null;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ancientcity.weapons.simulator;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Stand-ins for the item factory, item meta and persistent data, enough for
+ * {@link com.ancientcity.weapons.managers.ItemManager} to build and classify weapons.
+ */
+final class SimItems {
+
+    private SimItems() {
+    }
+
+    static ItemFactory factory() {
+        return SimHandler.proxy(ItemFactory.class, new SimHandler() {
+            @Override
+            Object handle(Object proxy, String method, Object[] args) {
+                switch (method) {
+                    case "getItemMeta":
+                        return meta(new MetaState());
+                    case "isApplicable":
+                        return true;
+                    case "asMetaFor":
+                        return args[0];
+                    case "equals":
+                        return Objects.equals(args[0], args[1]);
+                    default:
+                        return UNHANDLED;
+                }
+            }
+        });
+    }
+
+    private static final class MetaState {
+        String displayName;
+        List<String> lore;
+        final Map<NamespacedKey, Object> data = new HashMap<>();
+
+        MetaState copy() {
+            MetaState copy = new MetaState();
+            copy.displayName = displayName;
+            copy.lore = lore == null ? null : new ArrayList<>(lore);
+            copy.data.putAll(data);
+            return copy;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ItemMeta meta(MetaState state) {
+        PersistentDataContainer container = SimHandler.proxy(PersistentDataContainer.class, new SimHandler() {
+            @Override
+            Object handle(Object proxy, String method, Object[] args) {
+                switch (method) {
+                    case "set":
+                        state.data.put((NamespacedKey) args[0], args[2]);
+                        return null;
+                    case "get":
+                        return state.data.get((NamespacedKey) args[0]);
+                    case "has":
+                        return state.data.containsKey((NamespacedKey) args[0]);
+                    case "remove":
+                        state.data.remove((NamespacedKey) args[0]);
+                        return null;
+                    case "isEmpty":
+                        return state.data.isEmpty();
+                    case "getKeys":
+                        return state.data.keySet();
+                    default:
+                        return UNHANDLED;
+                }
+            }
+        });
+
+        return SimHandler.proxy(ItemMeta.class, new SimHandler() {
+            @Override
+            Object handle(Object proxy, String method, Object[] args) {
+                switch (method) {
+                    case "clone":
+                        return meta(state.copy());
+                    case "setDisplayName":
+                        state.displayName = (String) args[0];
+                        return null;
+                    case "getDisplayName":
+                        return state.displayName;
+                    case "hasDisplayName":
+                        return state.displayName != null;
+                    case "setLore":
+                        state.lore = (List<String>) args[0];
+                        return null;
+                    case "getLore":
+                        return state.lore;
+                    case "hasLore":
+                        return state.lore != null;
+                    case "getPersistentDataContainer":
+                        return container;
+                    default:
+                        return UNHANDLED;
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,283 @@
+package com.ancientcity.weapons.simulator;
+
+import com.ancientcity.weapons.scheduler.ScheduledTask;
+import com.ancientcity.weapons.scheduler.TaskScheduler;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-threaded stand-in for a region-threaded server's scheduler.
+ * The world is cut into square regions of {@code 2^REGION_SHIFT} chunks a side, spread over a fixed
+ * pool of region threads. Each tick runs the global tasks on the calling thread, then every region
+ * thread runs its due tasks in parallel, and the tick ends when the last one finishes.
+ *
+ * <p>Ownership is strict: a chunk or entity is only owned by the thread its region maps to, and the
+ * global thread owns nothing. Exceptions thrown by tasks are collected for {@link #getFailures()}
+ * instead of killing the thread.</p>
+ */
+final class SimRegionScheduler implements TaskScheduler {
+
+    // Two chunks a side: small enough that the simulator's arenas span several regions
+    private static final int REGION_SHIFT = 1;
+
+    private final Region[] regions;
+    private final TaskQueue global = new TaskQueue();
+    private final ThreadLocal<Region> currentRegion = new ThreadLocal<>();
+    private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    private final ExecutorService async = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sim-region-async");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long currentTick;
+
+    SimRegionScheduler(int threads) {
+        regions = new Region[threads];
+        for (int i = 0; i < threads; i++) {
+            regions[i] = new Region(i);
+        }
+    }
+
+    @Override
+    public ScheduledTask runGlobal(Runnable task) {
+        return global.add(task, 1L, -1L);
+    }
+
+    @Override
+    public ScheduledTask runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return global.add(task, delayTicks, periodTicks);
+    }
+
+    @Override
+    public ScheduledTask runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        return regionOf(chunkX, chunkZ).tasks.add(task, 1L, -1L);
+    }
+
+    @Override
+    public ScheduledTask runAtChunkTimer(World world, int chunkX, int chunkZ, Runnable task, long delayTicks, long periodTicks) {
+        return regionOf(chunkX, chunkZ).tasks.add(task, delayTicks, periodTicks);
+    }
+
+    @Override
+    public ScheduledTask runAtEntity(Entity entity, Runnable task, long delayTicks) {
+        if (!entity.isValid()) {
+            return null;
+        }
+        return regionOf(entity).tasks.add(() -> {
+            if (entity.isValid()) {
+                task.run();
+            }
+        }, delayTicks, -1L);
+    }
+
+    @Override
+    public ScheduledTask runAsync(Runnable task) {
+        SimTask scheduled = new SimTask(task, 0L, -1L);
+        async.execute(() -> {
+            if (!scheduled.cancelled) {
+                run(task);
+            }
+        });
+        return scheduled;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(World world, int chunkX, int chunkZ) {
+        return currentRegion.get() == regionOf(chunkX, chunkZ);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(Entity entity) {
+        return currentRegion.get() == regionOf(entity);
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    @Override
+    public int getRegionShift() {
+        return REGION_SHIFT;
+    }
+
+    @Override
+    public void teleport(Entity entity, Location location) {
+        entity.teleport(location);
+    }
+
+    /**
+     * Advances one tick: global tasks first, then all regions in parallel.
+     */
+    void tick() throws InterruptedException {
+        long tick = ++currentTick;
+        global.runDue(tick);
+
+        CountDownLatch done = new CountDownLatch(regions.length);
+        for (Region region : regions) {
+            region.thread.execute(() -> {
+                try {
+                    region.tasks.runDue(tick);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    /**
+     * Gets the IDs of the region threads, for allocation accounting.
+     *
+     * @return One thread ID per region thread
+     */
+    long[] getThreadIds() throws InterruptedException {
+        long[] ids = new long[regions.length];
+        for (int i = 0; i < regions.length; i++) {
+            Region region = regions[i];
+            CountDownLatch read = new CountDownLatch(1);
+            region.thread.execute(() -> {
+                region.threadId = Thread.currentThread().getId();
+                read.countDown();
+            });
+            read.await();
+            ids[i] = region.threadId;
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the exceptions thrown by tasks so far.
+     *
+     * @return The failures, oldest first
+     */
+    List<Throwable> getFailures() {
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Stops the region threads and waits for queued async work to finish.
+     */
+    void shutdown() throws InterruptedException {
+        for (Region region : regions) {
+            region.thread.shutdown();
+        }
+        async.shutdown();
+        async.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private Region regionOf(int chunkX, int chunkZ) {
+        int regionX = chunkX >> REGION_SHIFT;
+        int regionZ = chunkZ >> REGION_SHIFT;
+        return regions[Math.floorMod(regionX * 73856093 ^ regionZ * 19349663, regions.length)];
+    }
+
+    private Region regionOf(Entity entity) {
+        Location location = entity.getLocation();
+        return regionOf(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            failures.add(e);
+        }
+    }
+
+    /**
+     * A region thread and the tasks scheduled on it.
+     */
+    private final class Region {
+
+        final TaskQueue tasks = new TaskQueue();
+        final ExecutorService thread;
+        volatile long threadId;
+
+        Region(int index) {
+            thread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread regionThread = new Thread(() -> {
+                    currentRegion.set(this);
+                    runnable.run();
+                }, "sim-region-" + index);
+                regionThread.setDaemon(true);
+                return regionThread;
+            });
+        }
+    }
+
+    /**
+     * Tasks of one region. Any thread may add; only the owning thread runs them.
+     */
+    private final class TaskQueue {
+
+        private final Queue<SimTask> incoming = new ConcurrentLinkedQueue<>();
+        private final List<SimTask> scheduled = new ArrayList<>();
+
+        SimTask add(Runnable runnable, long delayTicks, long periodTicks) {
+            SimTask task = new SimTask(runnable, Math.max(1L, delayTicks), periodTicks);
+            incoming.add(task);
+            return task;
+        }
+
+        void runDue(long tick) {
+            for (SimTask task; (task = incoming.poll()) != null; ) {
+                // Delays count from the tick the task was added in
+                task.nextTick += tick - 1;
+                scheduled.add(task);
+            }
+            for (Iterator<SimTask> iterator = scheduled.iterator(); iterator.hasNext(); ) {
+                SimTask task = iterator.next();
+                if (task.cancelled) {
+                    iterator.remove();
+                    continue;
+                }
+                if (task.nextTick > tick) continue;
+
+                run(task.runnable);
+                if (task.period > 0) {
+                    task.nextTick = tick + task.period;
+                } else {
+                    task.cancelled = true;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static final class SimTask implements ScheduledTask {
+
+        private final Runnable runnable;
+        private final long period;
+        // Delay until the task is picked up, then the tick it is due in
+        private long nextTick;
+        private volatile boolean cancelled;
+
+        SimTask(Runnable runnable, long delay, long period) {
+            this.runnable = runnable;
+            this.nextTick = delay;
+            this.period = period;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
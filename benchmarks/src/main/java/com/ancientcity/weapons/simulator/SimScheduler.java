@@ -0,0 +1,165 @@
+package com.ancientcity.weapons.simulator;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for the Bukkit scheduler. Sync tasks run when {@link #tick()} is called;
+ * async tasks run on a background thread, as on a real server.
+ */
+final class SimScheduler extends SimHandler {
+
+    private final List<SimTask> tasks = new ArrayList<>();
+    private final List<SimTask> due = new ArrayList<>();
+    private final ExecutorService async = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sim-async");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long currentTick;
+    private int nextId = 1;
+
+    @Override
+    Object handle(Object proxy, String method, Object[] args) {
+        switch (method) {
+            case "runTask":
+                return schedule(args, 0L, -1L);
+            case "runTaskLater":
+                return schedule(args, (Long) args[2], -1L);
+            case "runTaskTimer":
+                return schedule(args, (Long) args[2], (Long) args[3]);
+            case "runTaskAsynchronously":
+                return runAsync((Plugin) args[0], (Runnable) args[1]);
+            case "cancelTask":
+                cancel((Integer) args[0]);
+                return null;
+            case "cancelTasks":
+                tasks.forEach(SimTask::cancel);
+                return null;
+            case "isQueued":
+                return find((Integer) args[0]) != null;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+    private BukkitTask schedule(Object[] args, long delay, long period) {
+        if (!(args[1] instanceof Runnable runnable)) {
+            throw new UnsupportedOperationException("Only Runnable tasks are simulated");
+        }
+        SimTask task = new SimTask(nextId++, (Plugin) args[0], runnable, true, currentTick + Math.max(1L, delay), period);
+        tasks.add(task);
+        return task;
+    }
+
+    private BukkitTask runAsync(Plugin plugin, Runnable runnable) {
+        SimTask task = new SimTask(nextId++, plugin, runnable, false, currentTick, -1L);
+        async.execute(() -> {
+            if (!task.isCancelled()) {
+                runnable.run();
+            }
+        });
+        return task;
+    }
+
+    private SimTask find(int id) {
+        for (SimTask task : tasks) {
+            if (task.getTaskId() == id) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private void cancel(int id) {
+        SimTask task = find(id);
+        if (task != null) {
+            task.cancelled = true;
+        }
+    }
+
+    /**
+     * Advances one tick and runs every sync task due in it.
+     */
+    void tick() {
+        currentTick++;
+        due.clear();
+        for (Iterator<SimTask> iterator = tasks.iterator(); iterator.hasNext(); ) {
+            SimTask task = iterator.next();
+            if (task.cancelled) {
+                iterator.remove();
+            } else if (task.nextTick <= currentTick) {
+                due.add(task);
+            }
+        }
+        for (SimTask task : due) {
+            if (task.cancelled) continue;
+            task.runnable.run();
+            if (task.period > 0) {
+                task.nextTick = currentTick + task.period;
+            } else {
+                task.cancelled = true;
+            }
+        }
+    }
+
+    /**
+     * Waits for queued async work, such as file writes, to finish.
+     */
+    void shutdown() throws InterruptedException {
+        async.shutdown();
+        async.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private final class SimTask implements BukkitTask {
+
+        private final int id;
+        private final Plugin owner;
+        private final Runnable runnable;
+        private final boolean sync;
+        private long nextTick;
+        private final long period;
+        private volatile boolean cancelled;
+
+        SimTask(int id, Plugin owner, Runnable runnable, boolean sync, long nextTick, long period) {
+            this.id = id;
+            this.owner = owner;
+            this.runnable = runnable;
+            this.sync = sync;
+            this.nextTick = nextTick;
+            this.period = period;
+        }
+
+        @Override
+        public int getTaskId() {
+            return id;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return owner;
+        }
+
+        @Override
+        public boolean isSync() {
+            return sync;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ancientcity.weapons.simulator;
+
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Stand-in server holding one {@link SimWorld}, its players and the {@link SimScheduler}.
+ */
+final class SimServer extends SimHandler {
+
+    private final Logger logger = Logger.getLogger("Simulator");
+    private final SimWorld world;
+    private final List<Player> players = new ArrayList<>();
+    private final Map<UUID, Player> playersById = new HashMap<>();
+    private final SimScheduler scheduler = new SimScheduler();
+    private final BukkitScheduler schedulerProxy = proxy(BukkitScheduler.class, scheduler);
+    private final ItemFactory itemFactory = SimItems.factory();
+    private final PluginManager pluginManager = proxy(PluginManager.class, new SimHandler() {
+        @Override
+        Object handle(Object proxy, String method, Object[] args) {
+            return UNHANDLED;
+        }
+    });
+    final Server server;
+
+    SimServer(SimWorld world) {
+        this.world = world;
+        this.server = proxy(Server.class, this);
+    }
+
+    void addPlayer(Player player) {
+        players.add(player);
+        playersById.put(player.getUniqueId(), player);
+    }
+
+    SimScheduler scheduler() {
+        return scheduler;
+    }
+
+    @Override
+    Object handle(Object proxy, String method, Object[] args) {
+        switch (method) {
+            case "getLogger":
+                return logger;
+            case "getName":
+                return "Simulator";
+            case "getVersion":
+            case "getBukkitVersion":
+                return "1.21-R0.1-SNAPSHOT";
+            case "getScheduler":
+                return schedulerProxy;
+            case "getItemFactory":
+                return itemFactory;
+            case "getPluginManager":
+                return pluginManager;
+            case "getViewDistance":
+                return 10;
+            case "isPrimaryThread":
+                return true;
+            case "getWorlds":
+                return List.of(world.world);
+            case "getWorld":
+                if (args[0] instanceof UUID uuid) {
+                    return world.world.getUID().equals(uuid) ? world.world : null;
+                }
+                return "sim".equals(args[0]) ? world.world : null;
+            case "getOnlinePlayers":
+                return new ArrayList<>(players);
+            case "getPlayer":
+                if (args[0] instanceof UUID uuid) {
+                    return playersById.get(uuid);
+                }
+                for (Player player : players) {
+                    if (player.getName().equalsIgnoreCase((String) args[0])) {
+                        return player;
+                    }
+                }
+                return null;
+            case "getPlayerExact":
+                for (Player player : players) {
+                    if (player.getName().equals(args[0])) {
+                        return player;
+                    }
+                }
+                return null;
+            default:
+                return UNHANDLED;
+        }
+    }
+}
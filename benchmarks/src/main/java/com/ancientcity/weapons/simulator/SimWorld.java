@@ -0,0 +1,263 @@
+package com.ancientcity.weapons.simulator;
+
+import com.ancientcity.weapons.cage.BlockPos;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.RayTraceResult;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory world: flat stone below {@link #GROUND_Y}, air above, with sparse block overrides.
+ * Entities are bucketed by chunk column so nearby-entity queries cost what they would on a server.
+ * Entities are only added during setup; blocks may be written from several region threads.
+ */
+final class SimWorld extends SimHandler {
+
+    static final int GROUND_Y = 64;
+
+    private final UUID uid = UUID.randomUUID();
+    private final SimCounters counters;
+    private final Map<Long, Material> blocks = new ConcurrentHashMap<>();
+    private final Map<Long, List<Entity>> entitiesByChunk = new HashMap<>();
+    private final List<Player> players = new ArrayList<>();
+    final World world;
+
+    SimWorld(SimCounters counters) {
+        this.counters = counters;
+        this.world = proxy(World.class, this);
+    }
+
+    void addPlayer(Player player, double x, double z) {
+        players.add(player);
+        addEntity(player, x, z);
+    }
+
+    void addEntity(Entity entity, double x, double z) {
+        entitiesByChunk.computeIfAbsent(chunkKey((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4), key -> new ArrayList<>()).add(entity);
+    }
+
+    Material getType(int x, int y, int z) {
+        Material type = blocks.get(BlockPos.pack(x, y, z));
+        if (type != null) return type;
+        return y < GROUND_Y ? Material.STONE : Material.AIR;
+    }
+
+    void setType(int x, int y, int z, Material type) {
+        blocks.put(BlockPos.pack(x, y, z), type);
+        counters.blockWrites.increment();
+    }
+
+    /**
+     * Counts the overridden blocks of a type, such as barriers a cage left behind.
+     *
+     * @param type The block type
+     * @return The number of blocks of that type
+     */
+    long count(Material type) {
+        return blocks.values().stream().filter(type::equals).count();
+    }
+
+    @Override
+    Object handle(Object proxy, String method, Object[] args) {
+        switch (method) {
+            case "getUID":
+                return uid;
+            case "getName":
+                return "sim";
+            case "getMinHeight":
+                return -64;
+            case "getMaxHeight":
+                return 320;
+            case "getViewDistance":
+                return 10;
+            case "getPlayers":
+                return new ArrayList<>(players);
+            case "getBlockAt":
+                if (args.length == 1) {
+                    Location location = (Location) args[0];
+                    return block(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+                }
+                return block((Integer) args[0], (Integer) args[1], (Integer) args[2]);
+            case "getChunkAt":
+                if (args.length == 2 && args[0] instanceof Integer) {
+                    return chunk((Integer) args[0], (Integer) args[1]);
+                }
+                return UNHANDLED;
+            case "getNearbyEntities":
+                if (args.length == 1) {
+                    return nearby((BoundingBox) args[0]);
+                }
+                if (args.length == 4) {
+                    Location center = (Location) args[0];
+                    double x = (Double) args[1];
+                    double y = (Double) args[2];
+                    double z = (Double) args[3];
+                    return nearby(new BoundingBox(center.getX() - x, center.getY() - y, center.getZ() - z,
+                            center.getX() + x, center.getY() + y, center.getZ() + z));
+                }
+                return UNHANDLED;
+            case "rayTraceBlocks":
+                if (args.length >= 3 && args[0] instanceof Location start) {
+                    return rayTrace(start, (Vector) args[1], (Double) args[2]);
+                }
+                return UNHANDLED;
+            case "spawnParticle":
+                counters.particlePackets.add(players.size());
+                return null;
+            case "playSound":
+                counters.sounds.increment();
+                return null;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+    private List<Entity> nearby(BoundingBox box) {
+        List<Entity> found = new ArrayList<>();
+        int minChunkX = (int) Math.floor(box.getMinX()) >> 4;
+        int maxChunkX = (int) Math.floor(box.getMaxX()) >> 4;
+        int minChunkZ = (int) Math.floor(box.getMinZ()) >> 4;
+        int maxChunkZ = (int) Math.floor(box.getMaxZ()) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                List<Entity> entities = entitiesByChunk.get(chunkKey(chunkX, chunkZ));
+                if (entities == null) continue;
+                for (Entity entity : entities) {
+                    if (entity.getBoundingBox().overlaps(box)) {
+                        found.add(entity);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the first non-air block along a ray with a voxel walk. Every block counts as a full cube.
+     */
+    private RayTraceResult rayTrace(Location start, Vector direction, double maxDistance) {
+        Vector dir = direction.clone().normalize();
+        double originX = start.getX();
+        double originY = start.getY();
+        double originZ = start.getZ();
+        int x = (int) Math.floor(originX);
+        int y = (int) Math.floor(originY);
+        int z = (int) Math.floor(originZ);
+        int stepX = (int) Math.signum(dir.getX());
+        int stepY = (int) Math.signum(dir.getY());
+        int stepZ = (int) Math.signum(dir.getZ());
+        double spacingX = stepX == 0 ? Double.POSITIVE_INFINITY : 1 / Math.abs(dir.getX());
+        double spacingY = stepY == 0 ? Double.POSITIVE_INFINITY : 1 / Math.abs(dir.getY());
+        double spacingZ = stepZ == 0 ? Double.POSITIVE_INFINITY : 1 / Math.abs(dir.getZ());
+        double boundaryX = stepX == 0 ? Double.POSITIVE_INFINITY : ((stepX > 0 ? x + 1 : x) - originX) / dir.getX();
+        double boundaryY = stepY == 0 ? Double.POSITIVE_INFINITY : ((stepY > 0 ? y + 1 : y) - originY) / dir.getY();
+        double boundaryZ = stepZ == 0 ? Double.POSITIVE_INFINITY : ((stepZ > 0 ? z + 1 : z) - originZ) / dir.getZ();
+
+        double distance = 0.0;
+        BlockFace face = BlockFace.SELF;
+        while (distance <= maxDistance) {
+            if (getType(x, y, z) != Material.AIR) {
+                Vector hit = new Vector(originX + dir.getX() * distance, originY + dir.getY() * distance, originZ + dir.getZ() * distance);
+                return new RayTraceResult(hit, block(x, y, z), face);
+            }
+            if (boundaryX <= boundaryY && boundaryX <= boundaryZ) {
+                distance = boundaryX;
+                boundaryX += spacingX;
+                x += stepX;
+                face = stepX > 0 ? BlockFace.WEST : BlockFace.EAST;
+            } else if (boundaryY <= boundaryZ) {
+                distance = boundaryY;
+                boundaryY += spacingY;
+                y += stepY;
+                face = stepY > 0 ? BlockFace.DOWN : BlockFace.UP;
+            } else {
+                distance = boundaryZ;
+                boundaryZ += spacingZ;
+                z += stepZ;
+                face = stepZ > 0 ? BlockFace.NORTH : BlockFace.SOUTH;
+            }
+        }
+        return null;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) ^ (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private Block block(int x, int y, int z) {
+        return proxy(Block.class, new SimHandler() {
+            @Override
+            Object handle(Object proxy, String method, Object[] args) {
+                switch (method) {
+                    case "getType":
+                        return SimWorld.this.getType(x, y, z);
+                    case "setType":
+                        SimWorld.this.setType(x, y, z, (Material) args[0]);
+                        return null;
+                    case "getX":
+                        return x;
+                    case "getY":
+                        return y;
+                    case "getZ":
+                        return z;
+                    case "getWorld":
+                        return world;
+                    case "getLocation":
+                        return args.length == 0 ? new Location(world, x, y, z) : UNHANDLED;
+                    default:
+                        return UNHANDLED;
+                }
+            }
+        });
+    }
+
+    private Chunk chunk(int chunkX, int chunkZ) {
+        ChunkSnapshot snapshot = proxy(ChunkSnapshot.class, new SimHandler() {
+            @Override
+            Object handle(Object proxy, String method, Object[] args) {
+                switch (method) {
+                    case "getBlockType":
+                        return getType((chunkX << 4) + (Integer) args[0], (Integer) args[1], (chunkZ << 4) + (Integer) args[2]);
+                    case "getX":
+                        return chunkX;
+                    case "getZ":
+                        return chunkZ;
+                    default:
+                        return UNHANDLED;
+                }
+            }
+        });
+        return proxy(Chunk.class, new SimHandler() {
+            @Override
+            Object handle(Object proxy, String method, Object[] args) {
+                switch (method) {
+                    case "getChunkSnapshot":
+                        return snapshot;
+                    case "getX":
+                        return chunkX;
+                    case "getZ":
+                        return chunkZ;
+                    case "getWorld":
+                        return world;
+                    default:
+                        return UNHANDLED;
+                }
+            }
+        });
+    }
+}
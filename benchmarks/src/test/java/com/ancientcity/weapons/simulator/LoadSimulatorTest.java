@@ -0,0 +1,29 @@
+package com.ancientcity.weapons.simulator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs overlapping cages and beams on several simulated region threads and checks that every
+ * barrier is cleared once the cages expire and that the plugin's counters match the world.
+ * The server is a static singleton, so this is one simulation per JVM.
+ */
+class LoadSimulatorTest {
+
+    @Test
+    void regionThreadedCagesAndBeamsStayConsistent() throws Exception {
+        // A small arena so cages overlap and straddle region borders
+        LoadSimulator simulator = new LoadSimulator(LoadSimulator.Scenario.MIXED, 120, 200, 200, 200, 0, 4);
+        List<String> problems = simulator.run();
+
+        assertEquals(List.of(), problems);
+        SimCounters counters = simulator.getCounters();
+        assertTrue(counters.cagesCreated.sum() > 0, "no cage was created");
+        assertTrue(counters.beamsFired.sum() > 0, "no beam was fired");
+        assertTrue(counters.blockWrites.sum() > 0, "no barrier was placed");
+    }
+}
@@ -1,11 +1,27 @@
 package com.ancientcity.weapons;
 
+import com.ancientcity.weapons.ability.AbilityRegistry;
+import com.ancientcity.weapons.ability.BarrierCageAbility;
+import com.ancientcity.weapons.ability.WardenBeamAbility;
 import com.ancientcity.weapons.commands.AncientWeaponsCommand;
+import com.ancientcity.weapons.config.WeaponsConfig;
+import com.ancientcity.weapons.listeners.CageListener;
 import com.ancientcity.weapons.listeners.ItemListener;
 import com.ancientcity.weapons.managers.BarrierCageManager;
+import com.ancientcity.weapons.managers.BlockMutationQueue;
+import com.ancientcity.weapons.managers.CooldownDisplay;
 import com.ancientcity.weapons.managers.CooldownManager;
+import com.ancientcity.weapons.managers.InteractionThrottle;
 import com.ancientcity.weapons.managers.ItemManager;
+import com.ancientcity.weapons.managers.ParticleManager;
+import com.ancientcity.weapons.managers.StatsManager;
+import com.ancientcity.weapons.managers.TickWatchdog;
+import com.ancientcity.weapons.scheduler.TaskScheduler;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
 
 /**
  * Main plugin class for Ancient City Weapons.
@@ -14,9 +30,34 @@ import org.bukkit.plugin.java.JavaPlugin;
 public class AncientCityWeapons extends JavaPlugin {
 
     private static AncientCityWeapons instance;
+    private TaskScheduler taskScheduler;
+    private AbilityRegistry abilityRegistry;
     private CooldownManager cooldownManager;
+    private CooldownDisplay cooldownDisplay;
     private ItemManager itemManager;
     private BarrierCageManager barrierCageManager;
+    private ParticleManager particleManager;
+    private BlockMutationQueue mutationQueue;
+    private StatsManager statsManager;
+    private TickWatchdog tickWatchdog;
+    private InteractionThrottle interactionThrottle;
+    private volatile WeaponsConfig weaponsConfig;
+
+    public AncientCityWeapons() {
+        super();
+    }
+
+    /**
+     * Creates the plugin outside a running server, for the headless load simulator.
+     *
+     * @param loader The plugin loader
+     * @param description The plugin description
+     * @param dataFolder The data folder
+     * @param file The plugin file
+     */
+    protected AncientCityWeapons(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
 
     @Override
     public void onEnable() {
@@ -25,13 +66,40 @@ public class AncientCityWeapons extends JavaPlugin {
         // Save default config if it doesn't exist
         saveDefaultConfig();
 
+        // Register abilities first; the config reads their cooldowns and managers size their per-ability tables from the registry
+        this.abilityRegistry = new AbilityRegistry();
+        abilityRegistry.register(new WardenBeamAbility(this));
+        abilityRegistry.register(new BarrierCageAbility(this));
+
+        this.weaponsConfig = WeaponsConfig.load(getConfig(), getLogger(), abilityRegistry);
+        this.taskScheduler = createTaskScheduler();
+        if (taskScheduler.isRegionThreaded()) {
+            getLogger().info("Region-threaded server detected, abilities run on their players' region threads");
+        }
+
         // Initialize managers
+        this.statsManager = new StatsManager(abilityRegistry.size());
+        this.tickWatchdog = new TickWatchdog(this);
+        this.tickWatchdog.start();
         this.cooldownManager = new CooldownManager(this);
-        this.itemManager = new ItemManager();
-        this.barrierCageManager = new BarrierCageManager(this);
+        this.cooldownManager.start();
+        this.cooldownDisplay = new CooldownDisplay(this);
+        this.cooldownDisplay.start();
+        this.interactionThrottle = new InteractionThrottle(this);
+        this.interactionThrottle.start();
+        this.itemManager = new ItemManager(abilityRegistry);
+        this.itemManager.rebuildPrototypes(weaponsConfig);
+        this.particleManager = new ParticleManager(this);
+        this.particleManager.start();
+        this.mutationQueue = new BlockMutationQueue(this);
+        this.mutationQueue.start();
+        this.barrierCageManager = new BarrierCageManager(this, mutationQueue);
+        this.barrierCageManager.openJournal(new File(getDataFolder(), "cages.journal"));
+        this.barrierCageManager.start();
 
         // Register listeners
         getServer().getPluginManager().registerEvents(new ItemListener(this), this);
+        getServer().getPluginManager().registerEvents(new CageListener(this), this);
 
         // Register commands
         AncientWeaponsCommand commandExecutor = new AncientWeaponsCommand(this);
@@ -48,11 +116,40 @@ public class AncientCityWeapons extends JavaPlugin {
         // Clean up any remaining barrier cages
         if (barrierCageManager != null) {
             barrierCageManager.removeAllCages();
+            barrierCageManager.shutdown();
+        }
+        if (mutationQueue != null) {
+            mutationQueue.shutdown();
+        }
+        if (cooldownDisplay != null) {
+            cooldownDisplay.shutdown();
+        }
+        if (cooldownManager != null) {
+            cooldownManager.shutdown();
+        }
+        if (particleManager != null) {
+            particleManager.shutdown();
+        }
+        if (tickWatchdog != null) {
+            tickWatchdog.shutdown();
+        }
+        if (interactionThrottle != null) {
+            interactionThrottle.shutdown();
         }
 
         getLogger().info("Ancient City Weapons has been disabled!");
     }
 
+    /**
+     * Creates the scheduler the plugin's tasks run on.
+     * The load simulator overrides this to run on its own region-threaded stand-in.
+     *
+     * @return The task scheduler
+     */
+    protected TaskScheduler createTaskScheduler() {
+        return TaskScheduler.create(this);
+    }
+
     /**
      * Gets the plugin instance.
      *
@@ -62,6 +159,24 @@ public class AncientCityWeapons extends JavaPlugin {
         return instance;
     }
 
+    /**
+     * Gets the task scheduler.
+     *
+     * @return The task scheduler
+     */
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    /**
+     * Gets the ability registry.
+     *
+     * @return The ability registry
+     */
+    public AbilityRegistry getAbilityRegistry() {
+        return abilityRegistry;
+    }
+
     /**
      * Gets the cooldown manager.
      *
@@ -71,6 +186,15 @@ public class AncientCityWeapons extends JavaPlugin {
         return cooldownManager;
     }
 
+    /**
+     * Gets the action-bar cooldown display.
+     *
+     * @return The cooldown display
+     */
+    public CooldownDisplay getCooldownDisplay() {
+        return cooldownDisplay;
+    }
+
     /**
      * Gets the item manager.
      *
@@ -89,13 +213,81 @@ public class AncientCityWeapons extends JavaPlugin {
         return barrierCageManager;
     }
 
+    /**
+     * Gets the stats manager.
+     *
+     * @return The stats manager
+     */
+    public StatsManager getStatsManager() {
+        return statsManager;
+    }
+
+    /**
+     * Gets the particle manager.
+     *
+     * @return The particle manager
+     */
+    public ParticleManager getParticleManager() {
+        return particleManager;
+    }
+
+    /**
+     * Gets the interaction throttle.
+     *
+     * @return The interaction throttle
+     */
+    public InteractionThrottle getInteractionThrottle() {
+        return interactionThrottle;
+    }
+
+    /**
+     * Gets the tick watchdog.
+     *
+     * @return The tick watchdog
+     */
+    public TickWatchdog getTickWatchdog() {
+        return tickWatchdog;
+    }
+
+    /**
+     * Gets the block mutation queue.
+     *
+     * @return The block mutation queue
+     */
+    public BlockMutationQueue getMutationQueue() {
+        return mutationQueue;
+    }
+
+    /**
+     * Gets the current configuration snapshot.
+     * Callers should read it once per activation so all values come from the same snapshot.
+     *
+     * @return The configuration snapshot
+     */
+    public WeaponsConfig getWeaponsConfig() {
+        return weaponsConfig;
+    }
+
+    /**
+     * Reloads config.yml from disk and atomically swaps in a new snapshot.
+     *
+     * @return The new configuration snapshot
+     */
+    public WeaponsConfig reloadWeaponsConfig() {
+        reloadConfig();
+        WeaponsConfig reloaded = WeaponsConfig.load(getConfig(), getLogger(), abilityRegistry);
+        this.weaponsConfig = reloaded;
+        itemManager.rebuildPrototypes(reloaded);
+        return reloaded;
+    }
+
     /**
      * Gets the warden beam damage from config.
      *
      * @return Damage in half-hearts
      */
     public double getWardenBeamDamage() {
-        return getConfig().getDouble("warden-beam.damage", 6.0);
+        return weaponsConfig.getWardenBeamDamage();
     }
 
     /**
@@ -104,7 +296,7 @@ public class AncientCityWeapons extends JavaPlugin {
      * @return Range in blocks
      */
     public double getWardenBeamRange() {
-        return getConfig().getDouble("warden-beam.range", 4.0);
+        return weaponsConfig.getWardenBeamRange();
     }
 
     /**
@@ -113,7 +305,7 @@ public class AncientCityWeapons extends JavaPlugin {
      * @return Duration in seconds
      */
     public int getBarrierCageDuration() {
-        return getConfig().getInt("barrier-cage.duration", 10);
+        return weaponsConfig.getCageDuration();
     }
 
     /**
@@ -122,6 +314,6 @@ public class AncientCityWeapons extends JavaPlugin {
      * @return Radius in blocks
      */
     public int getBarrierCageRadius() {
-        return getConfig().getInt("barrier-cage.radius", 4);
+        return weaponsConfig.getCageRadius();
     }
 }
@@ -0,0 +1,83 @@
+package com.ancientcity.weapons.ability;
+
+import com.ancientcity.weapons.config.WeaponsConfig;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * A weapon ability: the item that carries it and what happens when it is used.
+ * Abilities are registered in an {@link AbilityRegistry}, which gives each a dense slot
+ * that indexes cooldowns, stats and cached messages.
+ */
+public interface Ability {
+
+    /**
+     * Gets the identifier stored in the item's persistent data.
+     * It also names the ability's column in the saved cooldowns, so it must never change.
+     *
+     * @return The item identifier
+     */
+    String getId();
+
+    /**
+     * Gets the name used for this ability in commands, such as {@code /ancientweapons give beam}.
+     *
+     * @return The lower-case command name
+     */
+    String getCommandName();
+
+    /**
+     * Gets the human-readable ability name.
+     *
+     * @return The display name
+     */
+    String getDisplayName();
+
+    /**
+     * Gets the symbol shown in front of the ability's chat messages.
+     *
+     * @return The icon
+     */
+    String getIcon();
+
+    /**
+     * Gets the key under which config.yml holds this ability's settings,
+     * such as its cooldown at {@code cooldowns.<key>}.
+     *
+     * @return The lower-case config key
+     */
+    String getConfigKey();
+
+    /**
+     * Gets the base material of the weapon item.
+     *
+     * @return The item material
+     */
+    Material getMaterial();
+
+    /**
+     * Gets the cooldown used when config.yml does not set one.
+     *
+     * @return Cooldown time in seconds
+     */
+    int getDefaultCooldown();
+
+    /**
+     * Builds the weapon item with its name and lore. The registry's item ID is stamped on afterwards.
+     *
+     * @param config The config snapshot to describe
+     * @param cooldown The ability's configured cooldown in seconds
+     * @return A new ItemStack
+     */
+    ItemStack buildItem(WeaponsConfig config, int cooldown);
+
+    /**
+     * Uses the ability and tells the player it worked. Cooldowns have already been checked
+     * and are started by the caller.
+     *
+     * @param player The player using the ability
+     * @param config The config snapshot for this activation
+     */
+    void activate(Player player, WeaponsConfig config);
+}
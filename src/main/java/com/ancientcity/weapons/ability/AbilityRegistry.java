@@ -0,0 +1,171 @@
+package com.ancientcity.weapons.ability;
+
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The registered abilities, each under a dense slot numbered from 0 in registration order.
+ * Click handling resolves an item to its slot with one material table read and one probe of a
+ * primitive item ID table, however many abilities there are; everything per ability is then an array index.
+ *
+ * <p>Register all abilities before the managers are created, since they size their
+ * per-ability tables from {@link #size()}.</p>
+ */
+public class AbilityRegistry {
+
+    // Open-addressing table of item IDs and their slots, rebuilt on every registration, so the
+    // per-click lookup compares strings and reads an int without boxing
+    private String[] idTable = new String[0];
+    private int[] slotTable = new int[0];
+    private final Map<String, Integer> slotsByCommand = new HashMap<>();
+    // Indexed by Material ordinal
+    private final boolean[] weaponMaterials = new boolean[Material.values().length];
+    private Ability[] abilities = new Ability[0];
+
+    /**
+     * Registers an ability under the next free slot.
+     *
+     * @param ability The ability to register
+     * @return The ability's slot
+     * @throws IllegalArgumentException If another ability uses the same item ID or command name
+     */
+    public int register(Ability ability) {
+        String commandName = ability.getCommandName().toLowerCase(Locale.ROOT);
+        if (slotOf(ability.getId()) >= 0) {
+            throw new IllegalArgumentException("Duplicate ability ID: " + ability.getId());
+        }
+        if (slotsByCommand.containsKey(commandName)) {
+            throw new IllegalArgumentException("Duplicate ability command name: " + commandName);
+        }
+
+        int slot = abilities.length;
+        abilities = Arrays.copyOf(abilities, slot + 1);
+        abilities[slot] = ability;
+        slotsByCommand.put(commandName, slot);
+        rebuildIdTable();
+        weaponMaterials[ability.getMaterial().ordinal()] = true;
+        return slot;
+    }
+
+    /**
+     * Gets the ability in a slot.
+     *
+     * @param slot The slot
+     * @return The ability
+     */
+    public Ability get(int slot) {
+        return abilities[slot];
+    }
+
+    /**
+     * Gets the number of registered abilities, one more than the highest slot.
+     *
+     * @return The ability count
+     */
+    public int size() {
+        return abilities.length;
+    }
+
+    /**
+     * Checks whether any ability uses the given base material.
+     *
+     * @param material The material to check
+     * @return true if a weapon item can have this material
+     */
+    public boolean isWeaponMaterial(Material material) {
+        return weaponMaterials[material.ordinal()];
+    }
+
+    /**
+     * Looks up an ability by the identifier stored in its item's persistent data.
+     *
+     * @param itemId The item identifier, may be null
+     * @return The ability's slot, or -1 if none matches
+     */
+    public int slotOf(String itemId) {
+        if (itemId == null || idTable.length == 0) {
+            return -1;
+        }
+        int mask = idTable.length - 1;
+        for (int index = mix(itemId.hashCode()) & mask; ; index = (index + 1) & mask) {
+            String id = idTable[index];
+            if (id == null) {
+                return -1;
+            }
+            if (id.equals(itemId)) {
+                return slotTable[index];
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the ID table at no more than half full, so every probe ends at an empty cell.
+     */
+    private void rebuildIdTable() {
+        int capacity = 4;
+        while (capacity < abilities.length * 2) {
+            capacity <<= 1;
+        }
+        String[] ids = new String[capacity];
+        int[] slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int slot = 0; slot < abilities.length; slot++) {
+            String id = abilities[slot].getId();
+            int index = mix(id.hashCode()) & mask;
+            while (ids[index] != null) {
+                index = (index + 1) & mask;
+            }
+            ids[index] = id;
+            slots[index] = slot;
+        }
+        this.idTable = ids;
+        this.slotTable = slots;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Looks up an ability by its command name, ignoring case.
+     *
+     * @param commandName The command argument
+     * @return The ability's slot, or -1 if none matches
+     */
+    public int slotOfCommand(String commandName) {
+        Integer slot = slotsByCommand.get(commandName.toLowerCase(Locale.ROOT));
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Gets the command names of all abilities, in slot order.
+     *
+     * @return The command names
+     */
+    public List<String> getCommandNames() {
+        List<String> names = new ArrayList<>(abilities.length);
+        for (Ability ability : abilities) {
+            names.add(ability.getCommandName());
+        }
+        return names;
+    }
+
+    /**
+     * Gets the item identifiers of all abilities, indexed by slot.
+     *
+     * @return A new array of item identifiers
+     */
+    public String[] getIds() {
+        String[] ids = new String[abilities.length];
+        for (int slot = 0; slot < abilities.length; slot++) {
+            ids[slot] = abilities[slot].getId();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ancientcity.weapons.ability;
+
+import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.config.WeaponsConfig;
+import com.ancientcity.weapons.util.TimeFormat;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Barrier Cage (Heavy Core): surrounds the player with a temporary shell of barrier blocks.
+ * The cage itself is built and torn down by the {@link com.ancientcity.weapons.managers.BarrierCageManager}.
+ */
+public class BarrierCageAbility implements Ability {
+
+    public static final String ID = "barrier_cage";
+    public static final int DEFAULT_COOLDOWN = 60;
+
+    private final AncientCityWeapons plugin;
+
+    public BarrierCageAbility(AncientCityWeapons plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public String getCommandName() {
+        return "cage";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Barrier Cage";
+    }
+
+    @Override
+    public String getIcon() {
+        return "🛡";
+    }
+
+    @Override
+    public String getConfigKey() {
+        return "barrier-cage";
+    }
+
+    @Override
+    public Material getMaterial() {
+        return Material.HEAVY_CORE;
+    }
+
+    @Override
+    public int getDefaultCooldown() {
+        return DEFAULT_COOLDOWN;
+    }
+
+    @Override
+    public ItemStack buildItem(WeaponsConfig config, int cooldown) {
+        ItemStack item = new ItemStack(getMaterial());
+        ItemMeta meta = item.getItemMeta();
+
+        if (meta != null) {
+            // Set display name with Ancient City theme
+            meta.setDisplayName(ChatColor.DARK_AQUA + "" + ChatColor.BOLD + getDisplayName());
+
+            // Set lore
+            List<String> lore = new ArrayList<>();
+            lore.add(ChatColor.GRAY + "" + ChatColor.ITALIC + "A core that harnesses protective energy.");
+            lore.add("");
+            lore.add(ChatColor.DARK_PURPLE + "Right-click to create a protective barrier");
+            lore.add(ChatColor.DARK_GRAY + "Radius: " + config.getCageRadius() + " blocks | Duration: "
+                    + TimeFormat.format(config.getCageDuration()));
+            lore.add(ChatColor.DARK_GRAY + "Cooldown: " + TimeFormat.format(cooldown));
+            meta.setLore(lore);
+
+            item.setItemMeta(meta);
+        }
+
+        return item;
+    }
+
+    @Override
+    public void activate(Player player, WeaponsConfig config) {
+        plugin.getBarrierCageManager().createCage(player, config);
+        player.sendMessage(ChatColor.DARK_AQUA + getIcon() + " " + getDisplayName() + " activated! "
+                + ChatColor.GRAY + "(" + config.getCageDuration() + " seconds)");
+    }
+}
@@ -0,0 +1,298 @@
+package com.ancientcity.weapons.ability;
+
+import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.beam.BeamHits;
+import com.ancientcity.weapons.beam.BeamTracer;
+import com.ancientcity.weapons.beam.SectionWalk;
+import com.ancientcity.weapons.config.WeaponsConfig;
+import com.ancientcity.weapons.managers.ParticleManager;
+import com.ancientcity.weapons.scheduler.TaskScheduler;
+import com.ancientcity.weapons.util.TimeFormat;
+import org.bukkit.ChatColor;
+import org.bukkit.FluidCollisionMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.RayTraceResult;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The Warden Beam (Disc Fragment): a sonic beam that damages every living entity along the player's view.
+ * On a region-threaded server the beam only reaches as far as the caster's region.
+ */
+public class WardenBeamAbility implements Ability {
+
+    public static final String ID = "warden_beam";
+    public static final int DEFAULT_COOLDOWN = 90;
+
+    private static final double BEAM_PARTICLE_SPACING = 0.25;
+
+    private final AncientCityWeapons plugin;
+    // Reused across activations; one per thread, since beams may fire on several region threads at once
+    private final ThreadLocal<BeamHits<LivingEntity>> beamHits = ThreadLocal.withInitial(BeamHits::new);
+    private final ThreadLocal<SectionWalk> sectionWalks = ThreadLocal.withInitial(SectionWalk::new);
+    private final ThreadLocal<BoundingBox> sectionBoxes = ThreadLocal.withInitial(BoundingBox::new);
+
+    public WardenBeamAbility(AncientCityWeapons plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public String getCommandName() {
+        return "beam";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Warden Beam";
+    }
+
+    @Override
+    public String getIcon() {
+        return "⚡";
+    }
+
+    @Override
+    public String getConfigKey() {
+        return "warden-beam";
+    }
+
+    @Override
+    public Material getMaterial() {
+        return Material.DISC_FRAGMENT_5;
+    }
+
+    @Override
+    public int getDefaultCooldown() {
+        return DEFAULT_COOLDOWN;
+    }
+
+    @Override
+    public ItemStack buildItem(WeaponsConfig config, int cooldown) {
+        ItemStack item = new ItemStack(getMaterial());
+        ItemMeta meta = item.getItemMeta();
+
+        if (meta != null) {
+            // Set display name with Ancient City theme
+            meta.setDisplayName(ChatColor.DARK_AQUA + "" + ChatColor.BOLD + getDisplayName());
+
+            // Set lore
+            List<String> lore = new ArrayList<>();
+            lore.add(ChatColor.GRAY + "" + ChatColor.ITALIC + "A fragment imbued with the Warden's power.");
+            lore.add("");
+            lore.add(ChatColor.DARK_PURPLE + "Right-click to fire a devastating beam");
+            lore.add(ChatColor.DARK_GRAY + "Range: " + formatNumber(config.getWardenBeamRange()) + " blocks | Damage: "
+                    + formatNumber(config.getWardenBeamDamage() / 2) + " hearts");
+            lore.add(ChatColor.DARK_GRAY + "Cooldown: " + TimeFormat.format(cooldown));
+            meta.setLore(lore);
+
+            item.setItemMeta(meta);
+        }
+
+        return item;
+    }
+
+    private static String formatNumber(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    @Override
+    public void activate(Player player, WeaponsConfig config) {
+        fireWardenBeam(player, config);
+        player.sendMessage(ChatColor.DARK_AQUA + getIcon() + " " + getDisplayName() + " fired!");
+    }
+
+    /**
+     * Fires the Warden Beam, dealing damage to entities in its path up to the first solid block.
+     *
+     * @param player The player firing the beam
+     * @param config The config snapshot for this activation
+     */
+    private void fireWardenBeam(Player player, WeaponsConfig config) {
+        double wardenBeamRange = config.getWardenBeamRange();
+        double wardenBeamDamage = config.getWardenBeamDamage();
+        double beamRadius = config.getWardenBeamRadius();
+
+        Location eyeLocation = player.getEyeLocation();
+        Vector direction = eyeLocation.getDirection().normalize();
+        World world = player.getWorld();
+
+        double originX = eyeLocation.getX();
+        double originY = eyeLocation.getY();
+        double originZ = eyeLocation.getZ();
+        double dirX = direction.getX();
+        double dirY = direction.getY();
+        double dirZ = direction.getZ();
+
+        // On a region-threaded server the beam stops where it would reach into another region's chunks
+        double reach = ownedReach(world, originX, originY, originZ, dirX, dirY, dirZ, wardenBeamRange, beamRadius);
+
+        // Stop at the first solid block; everything after it is out of sight and never traced
+        double beamLength = reach;
+        RayTraceResult blocked = reach > 0 ? world.rayTraceBlocks(eyeLocation, direction, reach, FluidCollisionMode.NEVER, true) : null;
+        if (blocked != null) {
+            Vector hit = blocked.getHitPosition();
+            double dx = hit.getX() - originX;
+            double dy = hit.getY() - originY;
+            double dz = hit.getZ() - originZ;
+            beamLength = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+
+        // Look up entities section by section along the beam, so the search grows with its length
+        BeamHits<LivingEntity> hits = beamHits.get();
+        int scanned = collectHits(player, world, originX, originY, originZ, dirX, dirY, dirZ, beamLength, beamRadius, hits);
+
+        // Spawn particles for the beam visual (dark blue/soul themed)
+        ParticleManager particles = plugin.getParticleManager();
+        int steps = (int) (beamLength / BEAM_PARTICLE_SPACING) + 1;
+        double halfLength = beamLength / 2;
+        int stride = particles.beginShape(world, originX + dirX * halfLength, originY + dirY * halfLength, originZ + dirZ * halfLength, steps, 2,
+                plugin.getTickWatchdog().getBeamParticleStride());
+        if (stride > 0) {
+            for (int step = 0; step < steps; step += stride) {
+                double d = step * BEAM_PARTICLE_SPACING;
+                double x = originX + dirX * d;
+                double y = originY + dirY * d;
+                double z = originZ + dirZ * d;
+                particles.shapePoint(Particle.SOUL_FIRE_FLAME, x, y, z, 2, 0.1, 0.1, 0.1, 0.01);
+                particles.shapePoint(Particle.SCULK_SOUL, x, y, z, 1, 0.05, 0.05, 0.05, 0.02);
+            }
+            particles.endShape();
+        }
+
+        plugin.getStatsManager().recordBeamTargets(scanned, hits.size());
+
+        // Damage hits from nearest to farthest
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        try {
+            for (int i = 0; i < hits.size(); i++) {
+                LivingEntity target = hits.target(i);
+                if (scheduler.isOwnedByCurrentRegion(target)) {
+                    target.damage(wardenBeamDamage, player);
+                } else {
+                    // Across a region border: the target's own thread applies the hit next tick
+                    scheduler.runAtEntity(target, () -> target.damage(wardenBeamDamage, player), 1L);
+                }
+
+                // Visual effect on hit
+                BoundingBox box = target.getBoundingBox();
+                particles.spawn(world, Particle.SCULK_SOUL, box.getCenterX(), box.getCenterY(), box.getCenterZ(), 10, 0.3, 0.5, 0.3, 0.1);
+            }
+        } finally {
+            hits.clear();
+        }
+
+        // Play a sound effect
+        world.playSound(player.getLocation(), Sound.ENTITY_WARDEN_SONIC_BOOM, 0.5f, 1.5f);
+    }
+
+    /**
+     * Finds how far a beam can go before its search reaches a chunk the current thread does not own.
+     * Walks the same sections as {@link #collectHits}, checking every chunk each section's search box
+     * overlaps, and stops at the first section touching a chunk of another region, since neither its
+     * blocks nor its entities may be read from here. On a Bukkit server every chunk is owned.
+     *
+     * @param world The world the beam is in
+     * @param originX Beam origin X
+     * @param originY Beam origin Y
+     * @param originZ Beam origin Z
+     * @param dirX Normalized beam direction X
+     * @param dirY Normalized beam direction Y
+     * @param dirZ Normalized beam direction Z
+     * @param range Beam range in blocks
+     * @param radius Beam radius in blocks
+     * @return The distance the beam may be traced, at most the range
+     */
+    private double ownedReach(World world, double originX, double originY, double originZ,
+                              double dirX, double dirY, double dirZ, double range, double radius) {
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        if (!scheduler.isRegionThreaded()) return range;
+
+        SectionWalk walk = sectionWalks.get();
+        // Consecutive sections mostly overlap the same chunks, so remember the last one found owned
+        int ownedX = Integer.MIN_VALUE;
+        int ownedZ = Integer.MIN_VALUE;
+        walk.start(originX, originY, originZ, dirX, dirY, dirZ, range);
+        while (walk.next()) {
+            int minChunkX = (int) Math.floor(walk.minX() - radius) >> 4;
+            int maxChunkX = (int) Math.floor(walk.maxX() + radius) >> 4;
+            int minChunkZ = (int) Math.floor(walk.minZ() - radius) >> 4;
+            int maxChunkZ = (int) Math.floor(walk.maxZ() + radius) >> 4;
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    if (chunkX == ownedX && chunkZ == ownedZ) continue;
+                    if (!scheduler.isOwnedByCurrentRegion(world, chunkX, chunkZ)) {
+                        return walk.enter();
+                    }
+                    ownedX = chunkX;
+                    ownedZ = chunkZ;
+                }
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Finds the living entities a beam hits, walking the chunk sections it passes through.
+     * Each section is searched only around the stretch of beam inside it, grown by the beam radius.
+     * Those boxes overlap at section borders, so a hit is kept only by the section whose stretch
+     * holds the point where the beam first touches it.
+     *
+     * @param player The player firing the beam, who is never hit
+     * @param world The world the beam is in
+     * @param originX Beam origin X
+     * @param originY Beam origin Y
+     * @param originZ Beam origin Z
+     * @param dirX Normalized beam direction X
+     * @param dirY Normalized beam direction Y
+     * @param dirZ Normalized beam direction Z
+     * @param length Beam length in blocks
+     * @param radius Beam radius in blocks
+     * @param hits Buffer the hits are added to
+     * @return The number of candidate entities tested
+     */
+    private int collectHits(Player player, World world, double originX, double originY, double originZ,
+                            double dirX, double dirY, double dirZ, double length, double radius,
+                            BeamHits<LivingEntity> hits) {
+        SectionWalk walk = sectionWalks.get();
+        BoundingBox search = sectionBoxes.get();
+        int scanned = 0;
+
+        walk.start(originX, originY, originZ, dirX, dirY, dirZ, length);
+        while (walk.next()) {
+            search.resize(walk.minX() - radius, walk.minY() - radius, walk.minZ() - radius,
+                    walk.maxX() + radius, walk.maxY() + radius, walk.maxZ() + radius);
+            Collection<Entity> candidates = world.getNearbyEntities(search);
+            scanned += candidates.size();
+
+            for (Entity entity : candidates) {
+                if (!(entity instanceof LivingEntity livingEntity) || entity == player) continue;
+
+                BoundingBox box = entity.getBoundingBox();
+                double distance = BeamTracer.intersect(originX, originY, originZ, dirX, dirY, dirZ, length, radius,
+                        box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ());
+                if (distance >= 0 && walk.owns(distance)) {
+                    hits.add(livingEntity, distance);
+                }
+            }
+        }
+        return scanned;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ancientcity.weapons.beam;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of beam hits kept sorted by distance along the beam.
+ * Backed by parallel arrays that only grow, so steady-state use allocates nothing.
+ *
+ * @param <T> The hit target type
+ */
+public class BeamHits<T> {
+
+    private Object[] targets;
+    private double[] distances;
+    private int size;
+
+    public BeamHits() {
+        this(16);
+    }
+
+    public BeamHits(int initialCapacity) {
+        this.targets = new Object[initialCapacity];
+        this.distances = new double[initialCapacity];
+    }
+
+    /**
+     * Inserts a hit, keeping the buffer ordered from nearest to farthest.
+     *
+     * @param target The hit target
+     * @param distance Distance along the beam
+     */
+    public void add(T target, double distance) {
+        if (size == targets.length) {
+            targets = Arrays.copyOf(targets, size * 2);
+            distances = Arrays.copyOf(distances, size * 2);
+        }
+        // Insertion sort; hit counts are small
+        int index = size;
+        while (index > 0 && distances[index - 1] > distance) {
+            targets[index] = targets[index - 1];
+            distances[index] = distances[index - 1];
+            index--;
+        }
+        targets[index] = target;
+        distances[index] = distance;
+        size++;
+    }
+
+    /**
+     * Gets the target at a position in distance order.
+     *
+     * @param index The hit index
+     * @return The hit target
+     */
+    @SuppressWarnings("unchecked")
+    public T target(int index) {
+        return (T) targets[index];
+    }
+
+    /**
+     * Gets the distance along the beam of a hit.
+     *
+     * @param index The hit index
+     * @return Distance in blocks
+     */
+    public double distance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Gets the number of hits.
+     *
+     * @return The hit count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Clears the buffer, releasing target references.
+     */
+    public void clear() {
+        Arrays.fill(targets, 0, size, null);
+        size = 0;
+    }
+}
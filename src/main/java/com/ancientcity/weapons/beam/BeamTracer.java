@@ -0,0 +1,81 @@
+package com.ancientcity.weapons.beam;
+
+/**
+ * Geometry for the Warden Beam, kept free of Bukkit types.
+ * The beam is treated as a segment swept by its radius and tested once per
+ * candidate hitbox instead of sampling points along the ray.
+ */
+public final class BeamTracer {
+
+    private static final double EPSILON = 1.0E-9;
+
+    private BeamTracer() {
+    }
+
+    /**
+     * Intersects a beam with an axis-aligned box.
+     * The box is grown by the beam radius on every side, which approximates the
+     * beam's capsule against the hitbox without per-step sampling.
+     *
+     * @param originX Beam origin X
+     * @param originY Beam origin Y
+     * @param originZ Beam origin Z
+     * @param dirX Normalized beam direction X
+     * @param dirY Normalized beam direction Y
+     * @param dirZ Normalized beam direction Z
+     * @param length Beam length in blocks
+     * @param radius Beam radius in blocks
+     * @param minX Box minimum X
+     * @param minY Box minimum Y
+     * @param minZ Box minimum Z
+     * @param maxX Box maximum X
+     * @param maxY Box maximum Y
+     * @param maxZ Box maximum Z
+     * @return Distance along the beam at which it first touches the box, or -1 if it misses
+     */
+    public static double intersect(double originX, double originY, double originZ,
+                                   double dirX, double dirY, double dirZ,
+                                   double length, double radius,
+                                   double minX, double minY, double minZ,
+                                   double maxX, double maxY, double maxZ) {
+        double enter = 0.0;
+        double exit = length;
+
+        // Slab test on each axis against the box expanded by the radius
+        if (Math.abs(dirX) < EPSILON) {
+            // Parallel to the slab: inside it for the whole segment or never
+            if (originX < minX - radius || originX > maxX + radius) {
+                return -1.0;
+            }
+        } else {
+            double near = (minX - radius - originX) / dirX;
+            double far = (maxX + radius - originX) / dirX;
+            enter = Math.max(enter, Math.min(near, far));
+            exit = Math.min(exit, Math.max(near, far));
+        }
+
+        if (Math.abs(dirY) < EPSILON) {
+            if (originY < minY - radius || originY > maxY + radius) {
+                return -1.0;
+            }
+        } else {
+            double near = (minY - radius - originY) / dirY;
+            double far = (maxY + radius - originY) / dirY;
+            enter = Math.max(enter, Math.min(near, far));
+            exit = Math.min(exit, Math.max(near, far));
+        }
+
+        if (Math.abs(dirZ) < EPSILON) {
+            if (originZ < minZ - radius || originZ > maxZ + radius) {
+                return -1.0;
+            }
+        } else {
+            double near = (minZ - radius - originZ) / dirZ;
+            double far = (maxZ + radius - originZ) / dirZ;
+            enter = Math.max(enter, Math.min(near, far));
+            exit = Math.min(exit, Math.max(near, far));
+        }
+
+        return enter <= exit ? enter : -1.0;
+    }
+}
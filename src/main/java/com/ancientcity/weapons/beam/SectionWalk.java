@@ -0,0 +1,229 @@
+package com.ancientcity.weapons.beam;
+
+/**
+ * Walks the 16-block chunk sections a beam segment passes through, in order, using a 3D DDA.
+ * Each step exposes the section coordinates and the stretch of the beam inside it, so entity
+ * lookups can be limited to a small box per section instead of one cube around the whole beam.
+ *
+ * <p>A walk holds its own state and is reused between beams; it is not thread-safe.</p>
+ */
+public final class SectionWalk {
+
+    private static final int SECTION_SHIFT = 4;
+    private static final double SECTION_SIZE = 1 << SECTION_SHIFT;
+
+    private double originX;
+    private double originY;
+    private double originZ;
+    private double dirX;
+    private double dirY;
+    private double dirZ;
+    private double length;
+
+    private int sectionX;
+    private int sectionY;
+    private int sectionZ;
+    private int stepX;
+    private int stepY;
+    private int stepZ;
+    // Distance along the beam to the next boundary on each axis, and between boundaries
+    private double boundaryX;
+    private double boundaryY;
+    private double boundaryZ;
+    private double spacingX;
+    private double spacingY;
+    private double spacingZ;
+
+    private double enter;
+    private double exit;
+    private boolean started;
+
+    /**
+     * Starts a walk along a beam. Call {@link #next()} to move to the first section.
+     *
+     * @param originX Beam origin X
+     * @param originY Beam origin Y
+     * @param originZ Beam origin Z
+     * @param dirX Normalized beam direction X
+     * @param dirY Normalized beam direction Y
+     * @param dirZ Normalized beam direction Z
+     * @param length Beam length in blocks
+     */
+    public void start(double originX, double originY, double originZ,
+                      double dirX, double dirY, double dirZ, double length) {
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.dirX = dirX;
+        this.dirY = dirY;
+        this.dirZ = dirZ;
+        this.length = length;
+
+        sectionX = (int) Math.floor(originX) >> SECTION_SHIFT;
+        sectionY = (int) Math.floor(originY) >> SECTION_SHIFT;
+        sectionZ = (int) Math.floor(originZ) >> SECTION_SHIFT;
+
+        stepX = dirX > 0 ? 1 : dirX < 0 ? -1 : 0;
+        stepY = dirY > 0 ? 1 : dirY < 0 ? -1 : 0;
+        stepZ = dirZ > 0 ? 1 : dirZ < 0 ? -1 : 0;
+
+        // An axis the beam runs parallel to is never crossed
+        spacingX = stepX == 0 ? Double.POSITIVE_INFINITY : SECTION_SIZE / Math.abs(dirX);
+        spacingY = stepY == 0 ? Double.POSITIVE_INFINITY : SECTION_SIZE / Math.abs(dirY);
+        spacingZ = stepZ == 0 ? Double.POSITIVE_INFINITY : SECTION_SIZE / Math.abs(dirZ);
+        boundaryX = firstBoundary(originX, dirX, sectionX, stepX);
+        boundaryY = firstBoundary(originY, dirY, sectionY, stepY);
+        boundaryZ = firstBoundary(originZ, dirZ, sectionZ, stepZ);
+
+        enter = 0.0;
+        exit = 0.0;
+        started = false;
+    }
+
+    private static double firstBoundary(double origin, double dir, int section, int step) {
+        if (step == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int boundary = step > 0 ? section + 1 : section;
+        return (boundary * SECTION_SIZE - origin) / dir;
+    }
+
+    /**
+     * Moves to the next section along the beam.
+     *
+     * @return false once the walk has passed the end of the beam
+     */
+    public boolean next() {
+        if (started) {
+            if (exit >= length) {
+                return false;
+            }
+            enter = exit;
+            // Cross whichever section boundary the beam reaches first
+            if (boundaryX <= boundaryY && boundaryX <= boundaryZ) {
+                sectionX += stepX;
+                boundaryX += spacingX;
+            } else if (boundaryY <= boundaryZ) {
+                sectionY += stepY;
+                boundaryY += spacingY;
+            } else {
+                sectionZ += stepZ;
+                boundaryZ += spacingZ;
+            }
+        }
+        started = true;
+        exit = Math.min(length, Math.min(boundaryX, Math.min(boundaryY, boundaryZ)));
+        return true;
+    }
+
+    /**
+     * Checks whether a distance along the beam falls in the current section's stretch.
+     * Stretches are half-open except the last, so every distance belongs to exactly one section;
+     * this lets callers drop the duplicates that overlapping per-section lookups return.
+     *
+     * @param distance Distance along the beam
+     * @return true if the distance is in this section's stretch
+     */
+    public boolean owns(double distance) {
+        return distance >= enter && (distance < exit || exit >= length);
+    }
+
+    /**
+     * Gets the X coordinate of the current section.
+     *
+     * @return Section X, in 16-block units
+     */
+    public int sectionX() {
+        return sectionX;
+    }
+
+    /**
+     * Gets the Y coordinate of the current section.
+     *
+     * @return Section Y, in 16-block units
+     */
+    public int sectionY() {
+        return sectionY;
+    }
+
+    /**
+     * Gets the Z coordinate of the current section.
+     *
+     * @return Section Z, in 16-block units
+     */
+    public int sectionZ() {
+        return sectionZ;
+    }
+
+    /**
+     * Gets the distance along the beam at which it enters the current section.
+     *
+     * @return Distance in blocks
+     */
+    public double enter() {
+        return enter;
+    }
+
+    /**
+     * Gets the distance along the beam at which it leaves the current section, or the beam's end.
+     *
+     * @return Distance in blocks
+     */
+    public double exit() {
+        return exit;
+    }
+
+    /**
+     * Gets the minimum X of the beam's stretch through the current section.
+     *
+     * @return The smaller X of the stretch's endpoints
+     */
+    public double minX() {
+        return Math.min(originX + dirX * enter, originX + dirX * exit);
+    }
+
+    /**
+     * Gets the minimum Y of the beam's stretch through the current section.
+     *
+     * @return The smaller Y of the stretch's endpoints
+     */
+    public double minY() {
+        return Math.min(originY + dirY * enter, originY + dirY * exit);
+    }
+
+    /**
+     * Gets the minimum Z of the beam's stretch through the current section.
+     *
+     * @return The smaller Z of the stretch's endpoints
+     */
+    public double minZ() {
+        return Math.min(originZ + dirZ * enter, originZ + dirZ * exit);
+    }
+
+    /**
+     * Gets the maximum X of the beam's stretch through the current section.
+     *
+     * @return The larger X of the stretch's endpoints
+     */
+    public double maxX() {
+        return Math.max(originX + dirX * enter, originX + dirX * exit);
+    }
+
+    /**
+     * Gets the maximum Y of the beam's stretch through the current section.
+     *
+     * @return The larger Y of the stretch's endpoints
+     */
+    public double maxY() {
+        return Math.max(originY + dirY * enter, originY + dirY * exit);
+    }
+
+    /**
+     * Gets the maximum Z of the beam's stretch through the current section.
+     *
+     * @return The larger Z of the stretch's endpoints
+     */
+    public double maxZ() {
+        return Math.max(originZ + dirZ * enter, originZ + dirZ * exit);
+    }
+}
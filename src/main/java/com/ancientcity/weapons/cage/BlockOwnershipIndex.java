@@ -0,0 +1,152 @@
+package com.ancientcity.weapons.cage;
+
+/**
+ * Reference counts for cage blocks in one world, keyed by packed block position (see {@link BlockPos}).
+ * Overlapping cages share barriers; a barrier is only cleared once its last owning cage releases it.
+ *
+ * <p>Uses open addressing with linear probing over primitive arrays. A count of zero marks an empty slot.</p>
+ */
+public class BlockOwnershipIndex {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private long[] keys;
+    private int[] counts;
+    private int mask;
+    private int size;
+
+    public BlockOwnershipIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Gets the number of cages owning a block.
+     *
+     * @param pos The packed block position
+     * @return The owner count, 0 if no cage owns it
+     */
+    public int count(long pos) {
+        int index = indexOf(pos);
+        return index < 0 ? 0 : counts[index];
+    }
+
+    /**
+     * Adds an owner to a block.
+     *
+     * @param pos The packed block position
+     * @return The owner count after adding
+     */
+    public int acquire(long pos) {
+        int index = indexOf(pos);
+        if (index >= 0) {
+            return ++counts[index];
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        insert(pos, 1);
+        return 1;
+    }
+
+    /**
+     * Removes an owner from a block.
+     *
+     * @param pos The packed block position
+     * @return The owner count after releasing; 0 means the block is free to clear
+     */
+    public int release(long pos) {
+        int index = indexOf(pos);
+        if (index < 0) {
+            return 0;
+        }
+        int remaining = --counts[index];
+        if (remaining == 0) {
+            delete(index);
+            if (keys.length > MIN_CAPACITY && size * 8 < keys.length) {
+                rehash(tableSizeFor(size * 2));
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Gets the number of owned blocks.
+     *
+     * @return The block count
+     */
+    public int size() {
+        return size;
+    }
+
+    private int indexOf(long pos) {
+        int index = home(pos);
+        while (counts[index] != 0) {
+            if (keys[index] == pos) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long pos, int count) {
+        int index = home(pos);
+        while (counts[index] != 0) {
+            index = (index + 1) & mask;
+        }
+        keys[index] = pos;
+        counts[index] = count;
+        size++;
+    }
+
+    private void delete(int index) {
+        int gap = index;
+        int next = (index + 1) & mask;
+        while (counts[next] != 0) {
+            int home = home(keys[next]);
+            // Move the entry back if its home slot does not lie between the gap and its position
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                counts[gap] = counts[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        counts[gap] = 0;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        allocate(capacity);
+        for (int i = 0; i < oldCounts.length; i++) {
+            if (oldCounts[i] != 0) {
+                insert(oldKeys[i], oldCounts[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int home(long pos) {
+        long hash = pos;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = MIN_CAPACITY;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ancientcity.weapons.cage;
+
+/**
+ * Packs block coordinates into a single long: 26 bits of X, 26 bits of Z and 12 bits of Y,
+ * the same layout the game uses for its own block positions.
+ */
+public final class BlockPos {
+
+    private BlockPos() {
+    }
+
+    /**
+     * Packs block coordinates.
+     *
+     * @param x Block X, within +/-33554432
+     * @param y Block Y, within -2048 and 2047
+     * @param z Block Z, within +/-33554432
+     * @return The packed position
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * Unpacks the X coordinate.
+     *
+     * @param packed The packed position
+     * @return Block X
+     */
+    public static int x(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    /**
+     * Unpacks the Y coordinate.
+     *
+     * @param packed The packed position
+     * @return Block Y
+     */
+    public static int y(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    /**
+     * Unpacks the Z coordinate.
+     *
+     * @param packed The packed position
+     * @return Block Z
+     */
+    public static int z(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+}
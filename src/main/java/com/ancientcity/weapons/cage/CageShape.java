@@ -0,0 +1,138 @@
+package com.ancientcity.weapons.cage;
+
+/**
+ * The shapes a Barrier Cage can take.
+ * Offsets are relative to the block the player stands in, with y = 0 at the player's feet.
+ */
+public enum CageShape {
+
+    /** Hollow sphere; the original cage shape. */
+    SPHERE {
+        @Override
+        public boolean isShell(int x, int y, int z, int radius) {
+            int distanceSquared = x * x + y * y + z * z;
+            return distanceSquared >= inner(radius) && distanceSquared <= outer(radius);
+        }
+
+        @Override
+        public boolean isInside(int x, int y, int z, int radius) {
+            return x * x + y * y + z * z < inner(radius);
+        }
+    },
+
+    /** Upper half of the sphere closed by a floor; about three quarters of the sphere's blocks. */
+    DOME {
+        @Override
+        public boolean isShell(int x, int y, int z, int radius) {
+            int horizontalSquared = x * x + z * z;
+            if (y == -1) {
+                return horizontalSquared <= outer(radius);
+            }
+            return y >= 0 && SPHERE.isShell(x, y, z, radius);
+        }
+
+        @Override
+        public boolean isInside(int x, int y, int z, int radius) {
+            return y >= 0 && SPHERE.isInside(x, y, z, radius);
+        }
+    },
+
+    /** Fixed-height cylinder with a floor and a roof; grows with the radius squared only through its caps. */
+    CYLINDER {
+        @Override
+        public boolean isShell(int x, int y, int z, int radius) {
+            if (y < -1 || y > CYLINDER_HEIGHT) {
+                return false;
+            }
+            int horizontalSquared = x * x + z * z;
+            if (y == -1 || y == CYLINDER_HEIGHT) {
+                return horizontalSquared <= outer(radius);
+            }
+            return horizontalSquared >= inner(radius) && horizontalSquared <= outer(radius);
+        }
+
+        @Override
+        public boolean isInside(int x, int y, int z, int radius) {
+            return y >= 0 && y < CYLINDER_HEIGHT && x * x + z * z < inner(radius);
+        }
+
+        @Override
+        public int maxY(int radius) {
+            return CYLINDER_HEIGHT;
+        }
+    },
+
+    /** Hollow cube; trivial to compute but the most blocks for a given radius. */
+    CUBE {
+        @Override
+        public boolean isShell(int x, int y, int z, int radius) {
+            return Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z))) == radius;
+        }
+
+        @Override
+        public boolean isInside(int x, int y, int z, int radius) {
+            return Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z))) < radius;
+        }
+    };
+
+    // Interior height of the cylinder above the player's feet
+    private static final int CYLINDER_HEIGHT = 4;
+
+    /**
+     * Checks whether an offset lies on the shell of this shape.
+     *
+     * @param x X offset from the center block
+     * @param y Y offset from the center block
+     * @param z Z offset from the center block
+     * @param radius The cage radius in blocks
+     * @return true if a barrier belongs at this offset
+     */
+    public abstract boolean isShell(int x, int y, int z, int radius);
+
+    /**
+     * Checks whether an offset lies in the space the shell encloses, not on the shell itself.
+     *
+     * @param x X offset from the center block
+     * @param y Y offset from the center block
+     * @param z Z offset from the center block
+     * @param radius The cage radius in blocks
+     * @return true if the block is inside the cage
+     */
+    public abstract boolean isInside(int x, int y, int z, int radius);
+
+    /**
+     * Gets the highest Y offset the shape can occupy.
+     *
+     * @param radius The cage radius in blocks
+     * @return The top Y offset
+     */
+    public int maxY(int radius) {
+        return radius;
+    }
+
+    /**
+     * Parses a shape name from the config, ignoring case.
+     *
+     * @param name The shape name
+     * @return The shape, or null if the name is unknown
+     */
+    public static CageShape fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (CageShape shape : values()) {
+            if (shape.name().equalsIgnoreCase(name)) {
+                return shape;
+            }
+        }
+        return null;
+    }
+
+    private static double inner(int radius) {
+        return (radius - 0.5) * (radius - 0.5);
+    }
+
+    private static double outer(int radius) {
+        return (radius + 0.5) * (radius + 0.5);
+    }
+}
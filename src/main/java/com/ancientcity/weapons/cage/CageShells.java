@@ -0,0 +1,115 @@
+package com.ancientcity.weapons.cage;
+
+/**
+ * Cache of precomputed shell offset tables per (shape, radius).
+ * Each table is a packed int array computed once and then replayed at the cage origin,
+ * so placing a cage never scans the (2r+1)^3 bounding cube. Tables are ordered layer by
+ * layer outwards from the player's body height, so a partially placed cage already blocks them in.
+ */
+public final class CageShells {
+
+    public static final int MAX_RADIUS = 32;
+
+    // Offsets are packed as three 10-bit fields biased by 512
+    private static final int OFFSET_BIAS = 512;
+    private static final int OFFSET_MASK = 0x3FF;
+
+    private static final int[][][] CACHE = new int[CageShape.values().length][MAX_RADIUS + 1][];
+
+    private CageShells() {
+    }
+
+    /**
+     * Gets the shell offsets for a shape and radius, computing them on first use.
+     * The returned array is shared and must not be modified.
+     *
+     * @param shape The cage shape
+     * @param radius The cage radius, between 1 and {@link #MAX_RADIUS}
+     * @return Packed shell offsets
+     */
+    public static synchronized int[] get(CageShape shape, int radius) {
+        if (radius < 1 || radius > MAX_RADIUS) {
+            throw new IllegalArgumentException("radius must be between 1 and " + MAX_RADIUS + ": " + radius);
+        }
+        int[] shell = CACHE[shape.ordinal()][radius];
+        if (shell == null) {
+            shell = compute(shape, radius);
+            CACHE[shape.ordinal()][radius] = shell;
+        }
+        return shell;
+    }
+
+    /**
+     * Computes the shell offsets for a shape and radius without caching.
+     *
+     * @param shape The cage shape
+     * @param radius The cage radius
+     * @return Packed shell offsets
+     */
+    public static int[] compute(CageShape shape, int radius) {
+        int side = 2 * radius + 1;
+        int maxY = shape.maxY(radius);
+        int[] shell = new int[side * side * (maxY + radius + 1)];
+        int count = 0;
+        // Emit layers in enclosure order: the player's body height (y = 0 and 1) first, then outwards
+        for (int distance = 1; distance <= 2 * Math.max(radius, maxY) + 1; distance += 2) {
+            for (int y : new int[] {(1 - distance) / 2, (1 + distance) / 2}) {
+                if (y < -radius || y > maxY) {
+                    continue;
+                }
+                for (int x = -radius; x <= radius; x++) {
+                    for (int z = -radius; z <= radius; z++) {
+                        if (shape.isShell(x, y, z, radius)) {
+                            shell[count++] = pack(x, y, z);
+                        }
+                    }
+                }
+            }
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(shell, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    /**
+     * Packs an offset into a single int.
+     *
+     * @param x X offset
+     * @param y Y offset
+     * @param z Z offset
+     * @return The packed offset
+     */
+    public static int pack(int x, int y, int z) {
+        return ((x + OFFSET_BIAS) << 20) | ((y + OFFSET_BIAS) << 10) | (z + OFFSET_BIAS);
+    }
+
+    /**
+     * Unpacks the X offset of a packed shell offset.
+     *
+     * @param packed The packed offset
+     * @return The X offset
+     */
+    public static int offsetX(int packed) {
+        return ((packed >>> 20) & OFFSET_MASK) - OFFSET_BIAS;
+    }
+
+    /**
+     * Unpacks the Y offset of a packed shell offset.
+     *
+     * @param packed The packed offset
+     * @return The Y offset
+     */
+    public static int offsetY(int packed) {
+        return ((packed >>> 10) & OFFSET_MASK) - OFFSET_BIAS;
+    }
+
+    /**
+     * Unpacks the Z offset of a packed shell offset.
+     *
+     * @param packed The packed offset
+     * @return The Z offset
+     */
+    public static int offsetZ(int packed) {
+        return (packed & OFFSET_MASK) - OFFSET_BIAS;
+    }
+}
@@ -1,6 +1,16 @@
 package com.ancientcity.weapons.commands;
 
 import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.ability.Ability;
+import com.ancientcity.weapons.ability.AbilityRegistry;
+import com.ancientcity.weapons.managers.ItemManager;
+import com.ancientcity.weapons.managers.LatencyHistogram;
+import com.ancientcity.weapons.managers.ParticleManager;
+import com.ancientcity.weapons.managers.StatsManager;
+import com.ancientcity.weapons.managers.TickWatchdog;
+import com.ancientcity.weapons.scheduler.ScheduledTask;
+import com.ancientcity.weapons.scheduler.TaskScheduler;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -9,87 +19,302 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Command handler for Ancient City Weapons plugin.
- * Provides commands to give players the custom weapons.
+ * Gives the custom weapons to the sender, a named player, everyone online ({@code @a}) or a random
+ * player ({@code @r}); large gives are spread over several ticks. Also reloads the configuration
+ * and shows, resets or exports the runtime statistics.
  */
 public class AncientWeaponsCommand implements CommandExecutor, TabCompleter {
 
+    // Recipients handled per tick when giving to many players at once
+    private static final int GIVE_BATCH_SIZE = 25;
+    // Upper bound for the amount argument (a full inventory of 64-stacks)
+    private static final int MAX_GIVE_AMOUNT = 36 * 64;
+    private static final DateTimeFormatter EXPORT_NAME = DateTimeFormatter.ofPattern("'stats-'yyyyMMdd-HHmmss'.txt'");
+
     private final AncientCityWeapons plugin;
+    private final AbilityRegistry abilities;
+    // "beam|cage", generated from the registered abilities
+    private final String weaponChoices;
 
     public AncientWeaponsCommand(AncientCityWeapons plugin) {
         this.plugin = plugin;
+        this.abilities = plugin.getAbilityRegistry();
+        this.weaponChoices = String.join("|", abilities.getCommandNames());
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        if (!(sender instanceof Player player)) {
-            sender.sendMessage(ChatColor.RED + "This command can only be used by players!");
+        if (args.length >= 1 && args[0].equalsIgnoreCase("reload")) {
+            reloadConfig(sender);
+            return true;
+        }
+
+        if (args.length >= 1 && args[0].equalsIgnoreCase("stats")) {
+            showStats(sender, args.length >= 2 ? args[1] : null);
             return true;
         }
 
-        if (args.length < 2) {
-            sendUsage(player);
+        if (args.length < 2 || !args[0].equalsIgnoreCase("give")) {
+            sendUsage(sender);
             return true;
         }
 
-        String subCommand = args[0].toLowerCase();
-        String itemType = args[1].toLowerCase();
+        if (!sender.hasPermission("ancientweapons.give")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command!");
+            return true;
+        }
 
-        if (!subCommand.equals("give")) {
-            sendUsage(player);
+        // Accept both "give <weapon> [amount]" for yourself and "give <target> <weapon> [amount]"
+        String target;
+        int typeIndex;
+        if (abilities.slotOfCommand(args[1]) >= 0 && (args.length == 2 || isInteger(args[2]))) {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage(ChatColor.RED + "Console must specify a target: /ancientweapons give <player|@a|@r> <" + weaponChoices + "> [amount]");
+                return true;
+            }
+            target = player.getName();
+            typeIndex = 1;
+        } else if (args.length >= 3) {
+            target = args[1];
+            typeIndex = 2;
+        } else {
+            sendUsage(sender);
             return true;
         }
 
-        if (!player.hasPermission("ancientweapons.give")) {
-            player.sendMessage(ChatColor.RED + "You don't have permission to use this command!");
+        int weapon = abilities.slotOfCommand(args[typeIndex]);
+        if (weapon < 0) {
+            sendUsage(sender);
             return true;
         }
 
-        switch (itemType) {
-            case "beam" -> giveWardenBeam(player);
-            case "cage" -> giveBarrierCage(player);
-            default -> sendUsage(player);
+        int amount = 1;
+        if (args.length > typeIndex + 1) {
+            if (!isInteger(args[typeIndex + 1])) {
+                sender.sendMessage(ChatColor.RED + "Invalid amount: " + args[typeIndex + 1]);
+                return true;
+            }
+            amount = Math.max(1, Math.min(MAX_GIVE_AMOUNT, Integer.parseInt(args[typeIndex + 1])));
         }
 
+        List<UUID> recipients = resolveTargets(target);
+        if (recipients.isEmpty()) {
+            sender.sendMessage(ChatColor.RED + "No online player matches " + target + "!");
+            return true;
+        }
+
+        GiveTask giveTask = new GiveTask(sender, recipients, weapon, amount);
+        giveTask.task = plugin.getTaskScheduler().runGlobalTimer(giveTask, 1L, 1L);
         return true;
     }
 
     /**
-     * Gives the player a Warden Beam item.
+     * Resolves a target argument to the UUIDs of online players.
      *
-     * @param player The player to give the item to
+     * @param target A player name, {@code @a} for everyone or {@code @r} for a random player
+     * @return The matching player UUIDs
+     */
+    private List<UUID> resolveTargets(String target) {
+        List<UUID> recipients = new ArrayList<>();
+        if (target.equalsIgnoreCase("@a")) {
+            for (Player online : Bukkit.getOnlinePlayers()) {
+                recipients.add(online.getUniqueId());
+            }
+        } else if (target.equalsIgnoreCase("@r")) {
+            List<? extends Player> online = new ArrayList<>(Bukkit.getOnlinePlayers());
+            if (!online.isEmpty()) {
+                recipients.add(online.get(ThreadLocalRandom.current().nextInt(online.size())).getUniqueId());
+            }
+        } else {
+            Player player = Bukkit.getPlayerExact(target);
+            if (player != null) {
+                recipients.add(player.getUniqueId());
+            }
+        }
+        return recipients;
+    }
+
+    private static boolean isInteger(String argument) {
+        if (argument.isEmpty() || argument.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < argument.length(); i++) {
+            if (!Character.isDigit(argument.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reloads the plugin configuration and swaps in the new snapshot.
+     *
+     * @param sender The sender who ran the command
+     */
+    private void reloadConfig(CommandSender sender) {
+        if (!sender.hasPermission("ancientweapons.reload")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command!");
+            return;
+        }
+
+        plugin.reloadWeaponsConfig();
+        sender.sendMessage(ChatColor.GREEN + "Ancient City Weapons configuration reloaded.");
+    }
+
+    /**
+     * Shows, resets or exports the runtime statistics.
+     *
+     * @param sender The sender who ran the command
+     * @param action null to show the statistics, "reset" or "export"
+     */
+    private void showStats(CommandSender sender, String action) {
+        if (!sender.hasPermission("ancientweapons.stats")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command!");
+            return;
+        }
+
+        if (action == null) {
+            for (String line : statsLines()) {
+                sender.sendMessage(line);
+            }
+        } else if (action.equalsIgnoreCase("reset")) {
+            plugin.getStatsManager().reset();
+            sender.sendMessage(ChatColor.GREEN + "Ancient City Weapons statistics reset.");
+        } else if (action.equalsIgnoreCase("export")) {
+            exportStats(sender);
+        } else {
+            sendUsage(sender);
+        }
+    }
+
+    /**
+     * Builds the statistics report.
+     *
+     * @return The report lines, with colour codes
+     */
+    private List<String> statsLines() {
+        StatsManager stats = plugin.getStatsManager();
+        ParticleManager particles = plugin.getParticleManager();
+        List<String> lines = new ArrayList<>();
+        lines.add(ChatColor.DARK_AQUA + "━━━ Ancient City Weapons Stats ━━━");
+        TickWatchdog watchdog = plugin.getTickWatchdog();
+        lines.add(ChatColor.GOLD + "Quality: " + ChatColor.WHITE + watchdog.getLevel().getDescription() + ChatColor.GRAY + " (tick time avg "
+                + formatNanos(watchdog.getAverageNanos()) + ", last " + formatNanos(watchdog.getLastTickNanos()) + ", max "
+                + formatNanos(watchdog.getMaxTickNanos()) + ", budget " + formatNanos(plugin.getWeaponsConfig().getTickBudgetNanos())
+                + ", lowered " + watchdog.getDegradations() + "x)");
+        for (int slot = 0; slot < abilities.size(); slot++) {
+            lines.add(ChatColor.GOLD + abilities.get(slot).getDisplayName() + ": " + ChatColor.WHITE + stats.getActivations(slot) + " activations, "
+                    + stats.getCooldownRejections(slot) + " on cooldown " + latency(stats.getActivationLatency(slot)));
+        }
+        LatencyHistogram removals = stats.getCageRemovalLatency();
+        lines.add(ChatColor.GOLD + "Cage removals: " + ChatColor.WHITE + removals.getCount() + " " + latency(removals));
+        lines.add(ChatColor.GOLD + "Cage blocks: " + ChatColor.WHITE + stats.getBlocksPlaced() + " placed, "
+                + stats.getBlocksCleared() + " cleared, " + plugin.getMutationQueue().getPendingJobs() + " jobs queued");
+        lines.add(ChatColor.GOLD + "Cage scans: " + ChatColor.WHITE + stats.getCageScans() + ", avg " + formatNanos(stats.getCageScanAverageNanos())
+                + ", max " + formatNanos(stats.getCageScanMaxNanos()) + ChatColor.GRAY + " (last " + formatNanos(stats.getCageScanLastNanos()) + ", "
+                + stats.getCageScanLastCells() + " cells, " + stats.getCageScanLastAirCells() + " air)");
+        lines.add(ChatColor.GOLD + "Beam targets: " + ChatColor.WHITE + stats.getBeamEntitiesScanned() + " scanned, " + stats.getBeamEntitiesHit() + " hit");
+        lines.add(ChatColor.GOLD + "Particles: " + ChatColor.WHITE + particles.getSentPackets() + " sent, " + particles.getDroppedPackets() + " dropped, "
+                + particles.getDownsampledPackets() + " downsampled, " + particles.getCulledEffects() + " culled");
+        lines.add(ChatColor.GOLD + "Clicks: " + ChatColor.WHITE + stats.getThrottledInteractions() + " throttled, "
+                + stats.getSuppressedMessages() + " cooldown messages suppressed, " + plugin.getInteractionThrottle().getTrackedPlayerCount() + " players tracked");
+        lines.add(ChatColor.GOLD + "Cooldowns: " + ChatColor.WHITE + plugin.getCooldownManager().getTrackedPlayerCount() + " players tracked, "
+                + plugin.getCooldownDisplay().getViewerCount() + " action-bar countdowns");
+        return lines;
+    }
+
+    private static String latency(LatencyHistogram histogram) {
+        return ChatColor.GRAY + "(p50 " + formatNanos(histogram.getPercentile(50)) + ", p99 " + formatNanos(histogram.getPercentile(99))
+                + ", max " + formatNanos(histogram.getMaxNanos()) + ")";
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.1fµs", nanos / 1_000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Writes the statistics report to a timestamped file in the data folder.
+     * The report is built on the command's thread and written asynchronously.
+     *
+     * @param sender The sender who ran the command
      */
-    private void giveWardenBeam(Player player) {
-        ItemStack wardenBeam = plugin.getItemManager().createWardenBeam();
-        player.getInventory().addItem(wardenBeam);
-        player.sendMessage(ChatColor.GREEN + "You received a " + ChatColor.DARK_AQUA + "Warden Beam" + ChatColor.GREEN + "!");
+    private void exportStats(CommandSender sender) {
+        List<String> lines = new ArrayList<>();
+        for (String line : statsLines()) {
+            lines.add(ChatColor.stripColor(line));
+        }
+        Path file = plugin.getDataFolder().toPath().resolve(LocalDateTime.now().format(EXPORT_NAME));
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        scheduler.runAsync(() -> {
+            String result;
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, lines, StandardCharsets.UTF_8);
+                result = ChatColor.GREEN + "Statistics exported to " + file.getFileName() + ".";
+            } catch (IOException e) {
+                result = ChatColor.RED + "Could not export statistics: " + e.getMessage();
+            }
+            String message = result;
+            if (sender instanceof Player player) {
+                scheduler.runAtEntity(player, () -> player.sendMessage(message), 1L);
+            } else {
+                scheduler.runGlobal(() -> sender.sendMessage(message));
+            }
+        });
     }
 
     /**
-     * Gives the player a Barrier Cage item.
+     * Gives a weapon to a player in full stacks, dropping any stack that does not fit at their feet.
      *
      * @param player The player to give the item to
+     * @param weapon The ability slot of the weapon to give
+     * @param amount The number of items
      */
-    private void giveBarrierCage(Player player) {
-        ItemStack barrierCage = plugin.getItemManager().createBarrierCage();
-        player.getInventory().addItem(barrierCage);
-        player.sendMessage(ChatColor.GREEN + "You received a " + ChatColor.DARK_AQUA + "Barrier Cage" + ChatColor.GREEN + "!");
+    private void giveWeapon(Player player, int weapon, int amount) {
+        ItemManager itemManager = plugin.getItemManager();
+        int maxStackSize = itemManager.createWeapon(weapon, 1).getMaxStackSize();
+        for (int remaining = amount; remaining > 0; remaining -= maxStackSize) {
+            ItemStack stack = itemManager.createWeapon(weapon, Math.min(maxStackSize, remaining));
+            // A leftover is never larger than the stack it came from
+            for (ItemStack leftover : player.getInventory().addItem(stack).values()) {
+                player.getWorld().dropItemNaturally(player.getLocation(), leftover);
+            }
+        }
+        String quantity = amount == 1 ? "a " : amount + "x ";
+        player.sendMessage(ChatColor.GREEN + "You received " + quantity + ChatColor.DARK_AQUA + abilities.get(weapon).getDisplayName() + ChatColor.GREEN + "!");
     }
 
     /**
-     * Sends usage information to the player.
+     * Sends usage information to the sender.
      *
-     * @param player The player to send usage info to
+     * @param sender The sender to send usage info to
      */
-    private void sendUsage(Player player) {
-        player.sendMessage(ChatColor.DARK_AQUA + "━━━ Ancient City Weapons ━━━");
-        player.sendMessage(ChatColor.GOLD + "/ancientweapons give beam" + ChatColor.GRAY + " - Get the Warden Beam");
-        player.sendMessage(ChatColor.GOLD + "/ancientweapons give cage" + ChatColor.GRAY + " - Get the Barrier Cage");
+    private void sendUsage(CommandSender sender) {
+        sender.sendMessage(ChatColor.DARK_AQUA + "━━━ Ancient City Weapons ━━━");
+        for (int slot = 0; slot < abilities.size(); slot++) {
+            Ability ability = abilities.get(slot);
+            sender.sendMessage(ChatColor.GOLD + "/ancientweapons give " + ability.getCommandName() + ChatColor.GRAY + " - Get the " + ability.getDisplayName());
+        }
+        sender.sendMessage(ChatColor.GOLD + "/ancientweapons give <player|@a|@r> <" + weaponChoices + "> [amount]" + ChatColor.GRAY + " - Give weapons to players");
+        sender.sendMessage(ChatColor.GOLD + "/ancientweapons reload" + ChatColor.GRAY + " - Reload the configuration");
+        sender.sendMessage(ChatColor.GOLD + "/ancientweapons stats [reset|export]" + ChatColor.GRAY + " - Show, reset or export runtime statistics");
     }
 
     @Override
@@ -98,8 +323,22 @@ public class AncientWeaponsCommand implements CommandExecutor, TabCompleter {
 
         if (args.length == 1) {
             completions.add("give");
+            if (sender.hasPermission("ancientweapons.reload")) {
+                completions.add("reload");
+            }
+            if (sender.hasPermission("ancientweapons.stats")) {
+                completions.add("stats");
+            }
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("stats")) {
+            completions.addAll(Arrays.asList("reset", "export"));
         } else if (args.length == 2 && args[0].equalsIgnoreCase("give")) {
-            completions.addAll(Arrays.asList("beam", "cage"));
+            completions.addAll(abilities.getCommandNames());
+            completions.addAll(Arrays.asList("@a", "@r"));
+            for (Player online : Bukkit.getOnlinePlayers()) {
+                completions.add(online.getName());
+            }
+        } else if (args.length == 3 && args[0].equalsIgnoreCase("give") && abilities.slotOfCommand(args[1]) < 0) {
+            completions.addAll(abilities.getCommandNames());
         }
 
         // Filter based on current input
@@ -108,4 +347,53 @@ public class AncientWeaponsCommand implements CommandExecutor, TabCompleter {
                 .filter(s -> s.toLowerCase().startsWith(currentArg))
                 .toList();
     }
+
+    /**
+     * Hands out weapons to a list of players a batch per tick,
+     * so giving to a full server does not stall a single tick.
+     * Runs on the global thread; each inventory is filled on the thread owning its player.
+     */
+    private class GiveTask implements Runnable {
+
+        private final CommandSender sender;
+        private final List<UUID> recipients;
+        private final int weapon;
+        private final int amount;
+        private int index;
+        private int delivered;
+        private volatile ScheduledTask task;
+
+        GiveTask(CommandSender sender, List<UUID> recipients, int weapon, int amount) {
+            this.sender = sender;
+            this.recipients = recipients;
+            this.weapon = weapon;
+            this.amount = amount;
+        }
+
+        @Override
+        public void run() {
+            int end = Math.min(index + GIVE_BATCH_SIZE, recipients.size());
+            for (; index < end; index++) {
+                // Players may have logged out since the command was issued
+                Player player = Bukkit.getPlayer(recipients.get(index));
+                if (player != null) {
+                    plugin.getTaskScheduler().executeAt(player, () -> giveWeapon(player, weapon, amount));
+                    delivered++;
+                }
+            }
+
+            if (index >= recipients.size()) {
+                ScheduledTask scheduled = task;
+                if (scheduled == null) {
+                    // Not handed its task yet; finish on the next run
+                    return;
+                }
+                scheduled.cancel();
+                if (recipients.size() > 1 || !(sender instanceof Player player && player.getUniqueId().equals(recipients.get(0)))) {
+                    sender.sendMessage(ChatColor.GREEN + "Gave " + amount + "x " + ChatColor.DARK_AQUA + abilities.get(weapon).getDisplayName()
+                            + ChatColor.GREEN + " to " + delivered + " player" + (delivered == 1 ? "" : "s") + ".");
+                }
+            }
+        }
+    }
 }
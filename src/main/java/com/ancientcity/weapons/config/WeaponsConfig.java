@@ -0,0 +1,410 @@
+package com.ancientcity.weapons.config;
+
+import com.ancientcity.weapons.ability.Ability;
+import com.ancientcity.weapons.ability.AbilityRegistry;
+import com.ancientcity.weapons.cage.CageShape;
+import com.ancientcity.weapons.cage.CageShells;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.logging.Logger;
+
+/**
+ * Immutable, validated snapshot of the plugin configuration.
+ * Parsed once on enable and on reload so ability activations never touch the YAML tree.
+ */
+public final class WeaponsConfig {
+
+    // Defaults mirror the bundled config.yml; cooldown defaults come from the abilities
+    public static final String DEFAULT_COOLDOWN_CLOCK = "millis";
+    public static final int DEFAULT_SWEEP_INTERVAL = 60;
+    public static final boolean DEFAULT_PERSIST_COOLDOWNS = true;
+    public static final int DEFAULT_COOLDOWN_SAVE_INTERVAL = 30;
+    public static final boolean DEFAULT_COOLDOWN_ACTION_BAR = false;
+    public static final double DEFAULT_WARDEN_BEAM_DAMAGE = 6.0;
+    public static final double DEFAULT_WARDEN_BEAM_RANGE = 4.0;
+    public static final double DEFAULT_WARDEN_BEAM_WIDTH = 1.0;
+    public static final int DEFAULT_CAGE_RADIUS = 4;
+    public static final int DEFAULT_CAGE_DURATION = 10;
+    public static final int DEFAULT_BLOCKS_PER_TICK = 1024;
+    public static final double DEFAULT_MUTATION_MILLIS = 2.0;
+    public static final int DEFAULT_PARTICLE_BUDGET = 2000;
+    public static final double DEFAULT_PARTICLE_VIEW_DISTANCE = 48.0;
+    public static final int DEFAULT_INTERACTION_INTERVAL_MILLIS = 100;
+    public static final int DEFAULT_COOLDOWN_MESSAGE_INTERVAL_MILLIS = 1000;
+    public static final boolean DEFAULT_ADAPTIVE_QUALITY = true;
+    public static final double DEFAULT_TICK_BUDGET_MILLIS = 5.0;
+
+    public static final CageShape DEFAULT_CAGE_SHAPE = CageShape.SPHERE;
+    public static final String DEFAULT_CAGE_MODE = "world";
+
+    public static final int MAX_CAGE_RADIUS = CageShells.MAX_RADIUS;
+    public static final double MAX_WARDEN_BEAM_RANGE = 64.0;
+
+    // Indexed by ability slot
+    private final int[] cooldowns;
+    private final boolean tickClock;
+    private final int sweepInterval;
+    private final boolean persistCooldowns;
+    private final int cooldownSaveInterval;
+    private final boolean cooldownActionBar;
+    private final double wardenBeamDamage;
+    private final double wardenBeamRange;
+    private final double wardenBeamWidth;
+    private final double wardenBeamRadius;
+    private final int cageRadius;
+    private final int cageDuration;
+    private final CageShape cageShape;
+    private final long cageDurationTicks;
+    private final int[] cageShell;
+    private final boolean virtualCages;
+    private final int blocksPerTick;
+    private final long mutationNanosPerTick;
+    private final int particleBudget;
+    private final double particleViewDistance;
+    private final int interactionIntervalMillis;
+    private final int cooldownMessageIntervalMillis;
+    private final boolean adaptiveQuality;
+    private final long tickBudgetNanos;
+
+    private WeaponsConfig(int[] cooldowns, boolean tickClock, int sweepInterval,
+                          boolean persistCooldowns, int cooldownSaveInterval, boolean cooldownActionBar,
+                          double wardenBeamDamage, double wardenBeamRange, double wardenBeamWidth,
+                          int cageRadius, int cageDuration, CageShape cageShape, boolean virtualCages,
+                          int blocksPerTick, double mutationMillis,
+                          int particleBudget, double particleViewDistance,
+                          int interactionIntervalMillis, int cooldownMessageIntervalMillis,
+                          boolean adaptiveQuality, double tickBudgetMillis) {
+        this.cooldowns = cooldowns;
+        this.tickClock = tickClock;
+        this.sweepInterval = sweepInterval;
+        this.persistCooldowns = persistCooldowns;
+        this.cooldownSaveInterval = cooldownSaveInterval;
+        this.cooldownActionBar = cooldownActionBar;
+        this.wardenBeamDamage = wardenBeamDamage;
+        this.wardenBeamRange = wardenBeamRange;
+        this.wardenBeamWidth = wardenBeamWidth;
+        this.wardenBeamRadius = wardenBeamWidth / 2;
+        this.cageRadius = cageRadius;
+        this.cageDuration = cageDuration;
+        this.cageDurationTicks = cageDuration * 20L;
+        this.cageShape = cageShape;
+        this.cageShell = CageShells.get(cageShape, cageRadius);
+        this.virtualCages = virtualCages;
+        this.blocksPerTick = blocksPerTick;
+        this.mutationNanosPerTick = (long) (mutationMillis * 1_000_000L);
+        this.particleBudget = particleBudget;
+        this.particleViewDistance = particleViewDistance;
+        this.interactionIntervalMillis = interactionIntervalMillis;
+        this.cooldownMessageIntervalMillis = cooldownMessageIntervalMillis;
+        this.adaptiveQuality = adaptiveQuality;
+        this.tickBudgetNanos = (long) (tickBudgetMillis * 1_000_000L);
+    }
+
+    /**
+     * Parses and validates a configuration, clamping invalid values and logging a warning for each.
+     *
+     * @param config The loaded configuration
+     * @param logger The logger for validation warnings
+     * @param abilities The registered abilities, whose cooldowns are read from {@code cooldowns.<config key>}
+     * @return The parsed snapshot
+     */
+    public static WeaponsConfig load(FileConfiguration config, Logger logger, AbilityRegistry abilities) {
+        int[] cooldowns = new int[abilities.size()];
+        for (int slot = 0; slot < cooldowns.length; slot++) {
+            Ability ability = abilities.get(slot);
+            String path = "cooldowns." + ability.getConfigKey();
+            cooldowns[slot] = clamp(logger, path, config.getInt(path, ability.getDefaultCooldown()), 0, 86400);
+        }
+        String clock = config.getString("cooldowns.clock", DEFAULT_COOLDOWN_CLOCK);
+        boolean tickClock = "ticks".equalsIgnoreCase(clock);
+        if (!tickClock && !DEFAULT_COOLDOWN_CLOCK.equalsIgnoreCase(clock)) {
+            logger.warning("Config value cooldowns.clock = " + clock + " is not millis or ticks, using " + DEFAULT_COOLDOWN_CLOCK);
+        }
+        int sweepInterval = clamp(logger, "cooldowns.sweep-interval",
+                config.getInt("cooldowns.sweep-interval", DEFAULT_SWEEP_INTERVAL), 1, 3600);
+        boolean persistCooldowns = config.getBoolean("cooldowns.persist", DEFAULT_PERSIST_COOLDOWNS);
+        int cooldownSaveInterval = clamp(logger, "cooldowns.save-interval",
+                config.getInt("cooldowns.save-interval", DEFAULT_COOLDOWN_SAVE_INTERVAL), 1, 3600);
+        boolean cooldownActionBar = config.getBoolean("cooldowns.action-bar", DEFAULT_COOLDOWN_ACTION_BAR);
+        double wardenBeamDamage = clamp(logger, "warden-beam.damage",
+                config.getDouble("warden-beam.damage", DEFAULT_WARDEN_BEAM_DAMAGE), 0.0, 2048.0);
+        double wardenBeamRange = clamp(logger, "warden-beam.range",
+                config.getDouble("warden-beam.range", DEFAULT_WARDEN_BEAM_RANGE), 0.5, MAX_WARDEN_BEAM_RANGE);
+        double wardenBeamWidth = clamp(logger, "warden-beam.width",
+                config.getDouble("warden-beam.width", DEFAULT_WARDEN_BEAM_WIDTH), 0.1, 8.0);
+        int cageRadius = clamp(logger, "barrier-cage.radius",
+                config.getInt("barrier-cage.radius", DEFAULT_CAGE_RADIUS), 1, MAX_CAGE_RADIUS);
+        int cageDuration = clamp(logger, "barrier-cage.duration",
+                config.getInt("barrier-cage.duration", DEFAULT_CAGE_DURATION), 1, 3600);
+        String shapeName = config.getString("barrier-cage.shape", DEFAULT_CAGE_SHAPE.name());
+        CageShape cageShape = CageShape.fromName(shapeName);
+        if (cageShape == null) {
+            logger.warning("Config value barrier-cage.shape = " + shapeName + " is not a known shape, using " + DEFAULT_CAGE_SHAPE.name().toLowerCase());
+            cageShape = DEFAULT_CAGE_SHAPE;
+        }
+        String cageMode = config.getString("barrier-cage.mode", DEFAULT_CAGE_MODE);
+        boolean virtualCages = "virtual".equalsIgnoreCase(cageMode);
+        if (!virtualCages && !DEFAULT_CAGE_MODE.equalsIgnoreCase(cageMode)) {
+            logger.warning("Config value barrier-cage.mode = " + cageMode + " is not world or virtual, using " + DEFAULT_CAGE_MODE);
+        }
+        int blocksPerTick = clamp(logger, "barrier-cage.blocks-per-tick",
+                config.getInt("barrier-cage.blocks-per-tick", DEFAULT_BLOCKS_PER_TICK), 1, 1000000);
+        double mutationMillis = clamp(logger, "barrier-cage.max-tick-millis",
+                config.getDouble("barrier-cage.max-tick-millis", DEFAULT_MUTATION_MILLIS), 0.1, 50.0);
+        int particleBudget = clamp(logger, "particles.max-packets-per-tick",
+                config.getInt("particles.max-packets-per-tick", DEFAULT_PARTICLE_BUDGET), 0, 1000000);
+        double particleViewDistance = clamp(logger, "particles.view-distance",
+                config.getDouble("particles.view-distance", DEFAULT_PARTICLE_VIEW_DISTANCE), 1.0, 512.0);
+        int interactionIntervalMillis = clamp(logger, "interaction.min-interval-millis",
+                config.getInt("interaction.min-interval-millis", DEFAULT_INTERACTION_INTERVAL_MILLIS), 0, 5000);
+        int cooldownMessageIntervalMillis = clamp(logger, "interaction.cooldown-message-millis",
+                config.getInt("interaction.cooldown-message-millis", DEFAULT_COOLDOWN_MESSAGE_INTERVAL_MILLIS), 0, 60000);
+        boolean adaptiveQuality = config.getBoolean("performance.adaptive-quality", DEFAULT_ADAPTIVE_QUALITY);
+        double tickBudgetMillis = clamp(logger, "performance.tick-budget-millis",
+                config.getDouble("performance.tick-budget-millis", DEFAULT_TICK_BUDGET_MILLIS), 0.1, 50.0);
+
+        return new WeaponsConfig(cooldowns, tickClock, sweepInterval,
+                persistCooldowns, cooldownSaveInterval, cooldownActionBar,
+                wardenBeamDamage, wardenBeamRange, wardenBeamWidth, cageRadius, cageDuration, cageShape, virtualCages,
+                blocksPerTick, mutationMillis, particleBudget, particleViewDistance,
+                interactionIntervalMillis, cooldownMessageIntervalMillis, adaptiveQuality, tickBudgetMillis);
+    }
+
+    private static int clamp(Logger logger, String path, int value, int min, int max) {
+        if (value < min || value > max) {
+            int clamped = Math.max(min, Math.min(max, value));
+            logger.warning("Config value " + path + " = " + value + " is out of range [" + min + ", " + max + "], using " + clamped);
+            return clamped;
+        }
+        return value;
+    }
+
+    private static double clamp(Logger logger, String path, double value, double min, double max) {
+        if (!(value >= min && value <= max)) {
+            double clamped = Double.isNaN(value) ? min : Math.max(min, Math.min(max, value));
+            logger.warning("Config value " + path + " = " + value + " is out of range [" + min + ", " + max + "], using " + clamped);
+            return clamped;
+        }
+        return value;
+    }
+
+    /**
+     * Gets an ability's cooldown.
+     *
+     * @param slot The ability slot
+     * @return Cooldown time in seconds
+     */
+    public int getCooldown(int slot) {
+        return cooldowns[slot];
+    }
+
+    /**
+     * Checks whether cooldowns are measured in server ticks instead of wall-clock time.
+     * Only read on enable; changing it needs a restart.
+     *
+     * @return true for the tick clock
+     */
+    public boolean isTickClock() {
+        return tickClock;
+    }
+
+    /**
+     * Gets how often expired cooldown entries are evicted.
+     *
+     * @return Sweep interval in seconds
+     */
+    public int getSweepInterval() {
+        return sweepInterval;
+    }
+
+    /**
+     * Checks whether cooldowns are saved across restarts.
+     *
+     * @return true if cooldowns are persisted
+     */
+    public boolean isPersistCooldowns() {
+        return persistCooldowns;
+    }
+
+    /**
+     * Gets how often changed cooldowns are written to disk.
+     *
+     * @return Save interval in seconds
+     */
+    public int getCooldownSaveInterval() {
+        return cooldownSaveInterval;
+    }
+
+    /**
+     * Checks whether players see a live countdown of their cooldowns in the action bar.
+     *
+     * @return true if the action-bar countdown is shown
+     */
+    public boolean isCooldownActionBar() {
+        return cooldownActionBar;
+    }
+
+    /**
+     * Gets the Warden Beam damage.
+     *
+     * @return Damage in half-hearts
+     */
+    public double getWardenBeamDamage() {
+        return wardenBeamDamage;
+    }
+
+    /**
+     * Gets the Warden Beam range.
+     *
+     * @return Range in blocks
+     */
+    public double getWardenBeamRange() {
+        return wardenBeamRange;
+    }
+
+    /**
+     * Gets the Warden Beam width.
+     *
+     * @return Width in blocks
+     */
+    public double getWardenBeamWidth() {
+        return wardenBeamWidth;
+    }
+
+    /**
+     * Gets the Warden Beam radius, half its width.
+     *
+     * @return Radius in blocks
+     */
+    public double getWardenBeamRadius() {
+        return wardenBeamRadius;
+    }
+
+    /**
+     * Gets the Barrier Cage radius.
+     *
+     * @return Radius in blocks
+     */
+    public int getCageRadius() {
+        return cageRadius;
+    }
+
+    /**
+     * Gets the Barrier Cage duration.
+     *
+     * @return Duration in seconds
+     */
+    public int getCageDuration() {
+        return cageDuration;
+    }
+
+    /**
+     * Gets the Barrier Cage duration in server ticks.
+     *
+     * @return Duration in ticks
+     */
+    public long getCageDurationTicks() {
+        return cageDurationTicks;
+    }
+
+    /**
+     * Gets the Barrier Cage shape.
+     *
+     * @return The cage shape
+     */
+    public CageShape getCageShape() {
+        return cageShape;
+    }
+
+    /**
+     * Gets the precomputed shell offsets for the configured cage shape and radius.
+     * The returned array is shared and must not be modified.
+     *
+     * @return Packed shell offsets, see {@link CageShells#offsetX(int)}
+     */
+    public int[] getCageShell() {
+        return cageShell;
+    }
+
+    /**
+     * Checks whether cages are only shown to players instead of placed in the world.
+     *
+     * @return true for virtual cages
+     */
+    public boolean isVirtualCages() {
+        return virtualCages;
+    }
+
+    /**
+     * Gets how many cage blocks may be placed or removed per tick.
+     * On a region-threaded server this applies to each region section with cages in it.
+     *
+     * @return Block budget per tick
+     */
+    public int getBlocksPerTick() {
+        return blocksPerTick;
+    }
+
+    /**
+     * Gets how much time cage block writes may use per tick.
+     *
+     * @return Time budget in nanoseconds
+     */
+    public long getMutationNanosPerTick() {
+        return mutationNanosPerTick;
+    }
+
+    /**
+     * Gets the server-wide particle packet budget.
+     *
+     * @return Maximum particle packets per tick
+     */
+    public int getParticleBudget() {
+        return particleBudget;
+    }
+
+    /**
+     * Gets the distance within which players receive particles.
+     *
+     * @return View distance in blocks
+     */
+    public double getParticleViewDistance() {
+        return particleViewDistance;
+    }
+
+    /**
+     * Gets the shortest time between two weapon clicks from the same player that are both handled.
+     *
+     * @return Interval in milliseconds, 0 for no limit
+     */
+    public int getInteractionIntervalMillis() {
+        return interactionIntervalMillis;
+    }
+
+    /**
+     * Gets the shortest time between two cooldown reminders sent to the same player.
+     *
+     * @return Interval in milliseconds, 0 for no limit
+     */
+    public int getCooldownMessageIntervalMillis() {
+        return cooldownMessageIntervalMillis;
+    }
+
+    /**
+     * Checks whether effects are thinned out when the plugin goes over its tick budget.
+     *
+     * @return true if the watchdog may lower effect quality
+     */
+    public boolean isAdaptiveQuality() {
+        return adaptiveQuality;
+    }
+
+    /**
+     * Gets how much tick-thread time the plugin may use per tick, on average, before effects are degraded.
+     *
+     * @return Time budget in nanoseconds
+     */
+    public long getTickBudgetNanos() {
+        return tickBudgetNanos;
+    }
+}
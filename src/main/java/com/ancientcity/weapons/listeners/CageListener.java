@@ -0,0 +1,116 @@
+package com.ancientcity.weapons.listeners;
+
+import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.managers.BarrierCageManager;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Vehicle;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+
+import java.util.List;
+
+/**
+ * Keeps players in and out of virtual barrier cages, which only exist as client-side block changes.
+ * Walking, flying and being knocked back, teleporting by ender pearl or chorus fruit, and riding
+ * a vehicle are all checked along the whole path, so no move of any length passes through a shell.
+ */
+public class CageListener implements Listener {
+
+    private final AncientCityWeapons plugin;
+
+    public CageListener(AncientCityWeapons plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        BarrierCageManager cageManager = plugin.getBarrierCageManager();
+        Location to = event.getTo();
+        if (to == null || !cageManager.hasVirtualCages()) {
+            return;
+        }
+
+        // Most moves stay within a block; only block changes can enter a shell
+        Location from = event.getFrom();
+        int x = to.getBlockX();
+        int y = to.getBlockY();
+        int z = to.getBlockZ();
+        if (x == from.getBlockX() && y == from.getBlockY() && z == from.getBlockZ()) {
+            return;
+        }
+
+        // The path catches moves of several blocks; the head block catches walking into a low roof
+        World world = to.getWorld();
+        if (cageManager.crossesVirtualCage(world, from, to) || cageManager.isVirtualBarrier(world, x, y + 1, z)) {
+            event.setTo(from);
+        }
+    }
+
+    /**
+     * Teleports have their own event. Ones the player causes are refused across a shell;
+     * commands and plugins still move players wherever they are sent.
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        BarrierCageManager cageManager = plugin.getBarrierCageManager();
+        Location to = event.getTo();
+        if (to == null || !cageManager.hasVirtualCages()) {
+            return;
+        }
+        PlayerTeleportEvent.TeleportCause cause = event.getCause();
+        if (cause == PlayerTeleportEvent.TeleportCause.COMMAND || cause == PlayerTeleportEvent.TeleportCause.PLUGIN) {
+            return;
+        }
+
+        Location from = event.getFrom();
+        World world = from.getWorld();
+        if (world != null && world.equals(to.getWorld()) && cageManager.crossesVirtualCage(world, from, to)) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * Vehicle moves cannot be cancelled, so riders crossing a shell are taken off and put back
+     * where the vehicle was.
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onVehicleMove(VehicleMoveEvent event) {
+        BarrierCageManager cageManager = plugin.getBarrierCageManager();
+        if (!cageManager.hasVirtualCages()) {
+            return;
+        }
+
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ()) {
+            return;
+        }
+        Vehicle vehicle = event.getVehicle();
+        List<Entity> passengers = vehicle.getPassengers();
+        boolean carriesPlayer = false;
+        for (Entity passenger : passengers) {
+            carriesPlayer |= passenger instanceof Player;
+        }
+        if (!carriesPlayer || !cageManager.crossesVirtualCage(vehicle.getWorld(), from, to)) {
+            return;
+        }
+
+        vehicle.eject();
+        for (Entity passenger : passengers) {
+            if (passenger instanceof Player player) {
+                Location back = from.clone();
+                Location facing = player.getLocation();
+                back.setYaw(facing.getYaw());
+                back.setPitch(facing.getPitch());
+                plugin.getTaskScheduler().teleport(player, back);
+            }
+        }
+    }
+}
@@ -1,33 +1,412 @@
 package com.ancientcity.weapons.managers;
 
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.cage.BlockOwnershipIndex;
+import com.ancientcity.weapons.cage.BlockPos;
+import com.ancientcity.weapons.cage.CageShells;
+import com.ancientcity.weapons.config.WeaponsConfig;
+import com.ancientcity.weapons.scheduler.ScheduledTask;
+import com.ancientcity.weapons.scheduler.TaskScheduler;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages the creation and removal of barrier cages.
- * Handles scheduled cleanup of barrier blocks after the duration expires.
+ * Block writes go through the {@link BlockMutationQueue}; expiries are driven by a single
+ * {@link CageExpiryWheel} advanced once per tick.
+ * Placed barriers are recorded in a {@link CageJournal} so a crash cannot leave them in the world.
+ *
+ * <p>Overlapping cages share barriers. Each world has a {@link BlockOwnershipIndex} counting the cages
+ * that own a block, and a barrier is only cleared when its last owner is removed.</p>
+ *
+ * <p>In virtual mode the world is never modified: the shell is sent to nearby players as block
+ * changes and movement into it is blocked by {@link #isVirtualBarrier}. Each player is checked
+ * against the virtual cages on their own thread, within their world's view distance.</p>
+ *
+ * <p>Cages are cast on their players' region threads and expire on the global thread. A cage's shell
+ * is split by chunk column, and each column is scanned, placed and cleared by its own job on the
+ * thread owning that chunk, so no thread touches blocks it does not own. No lock is held while the
+ * world is read or written; shared state is split by what it guards instead. Active cages live in a
+ * concurrent map, the expiry wheel and each world's ownership index have their own monitors, taken
+ * once per batch, and the journal has {@link #journalLock}. A block's owner count only changes on
+ * the thread owning its chunk, so reading a block and then counting it cannot race another cage.</p>
  */
 public class BarrierCageManager {
 
-    private static final int DEFAULT_CAGE_RADIUS = 4;
-    private static final int DEFAULT_CAGE_DURATION_SECONDS = 10;
+    private static final int PERIMETER_STEP_DEGREES = 15;
+    // How often the journal is checked for compaction, and how large it may grow before that
+    private static final long COMPACT_INTERVAL_TICKS = 5 * 60 * 20L;
+    private static final int COMPACT_THRESHOLD_BYTES = 256 * 1024;
+    // How often virtual cages look for players that came into or left view
+    private static final long VIEWER_REFRESH_TICKS = 10L;
+    // Expired cages removed per tick while the watchdog defers removal; the rest wait a tick
+    private static final int DEFERRED_REMOVALS_PER_TICK = 2;
+    private static final int[] NO_CELLS = new int[0];
+    // Distance between the points of a move checked against virtual cages, in blocks
+    private static final double CROSSING_STEP = 0.25;
 
     private final AncientCityWeapons plugin;
-    // Map of player UUID to their active cage block locations
-    private final Map<UUID, Set<Location>> activeCages;
+    private final TaskScheduler scheduler;
+    private final BlockMutationQueue mutationQueue;
+    // Map of player UUID to their active cage
+    private final Map<UUID, Cage> activeCages;
+    // Cages whose barriers are queued for removal but not yet cleared
+    private final Set<Cage> pendingRemovals;
+    // Guarded by its own monitor
+    private final CageExpiryWheel expiries;
+    // Barrier owner counts per world, each guarded by its own monitor
+    private final Map<UUID, BlockOwnershipIndex> ownership;
+    // Virtual cage shell cells per world, each guarded by its own monitor, and the virtual cages themselves
+    private final Map<UUID, BlockOwnershipIndex> virtualShells;
+    private final Set<Cage> virtualCages;
+    // Only used by the global viewer refresh
+    private final Set<UUID> onlinePlayers;
+    private ScheduledTask viewerTask;
+    private ScheduledTask expiryTask;
 
-    public BarrierCageManager(AncientCityWeapons plugin) {
+    // Guards the journal and the cages recorded in it
+    private final Object journalLock = new Object();
+    // Null when journaling is unavailable
+    private CageJournal journal;
+    // Cages opened in the journal and not yet tombstoned
+    private final Set<Cage> journaledCages;
+    private ScheduledTask compactTask;
+
+    public BarrierCageManager(AncientCityWeapons plugin, BlockMutationQueue mutationQueue) {
         this.plugin = plugin;
-        this.activeCages = new HashMap<>();
+        this.scheduler = plugin.getTaskScheduler();
+        this.mutationQueue = mutationQueue;
+        this.activeCages = new ConcurrentHashMap<>();
+        this.pendingRemovals = ConcurrentHashMap.newKeySet();
+        this.expiries = new CageExpiryWheel();
+        this.ownership = new ConcurrentHashMap<>();
+        this.virtualShells = new ConcurrentHashMap<>();
+        this.virtualCages = ConcurrentHashMap.newKeySet();
+        this.onlinePlayers = new HashSet<>();
+        this.journaledCages = new HashSet<>();
+    }
+
+    /**
+     * Starts the task that advances the expiry wheel and removes expired cages.
+     */
+    public void start() {
+        expiryTask = scheduler.runGlobalTimer(this::expireCages, 1L, 1L);
+        viewerTask = scheduler.runGlobalTimer(this::refreshAllViewers, VIEWER_REFRESH_TICKS, VIEWER_REFRESH_TICKS);
+    }
+
+    /**
+     * Advances the expiry wheel and removes the cages due this tick.
+     * Their blocks are cleared by the threads owning them, on their next ticks.
+     */
+    private void expireCages() {
+        long start = System.nanoTime();
+        TickWatchdog watchdog = plugin.getTickWatchdog();
+        int allowed = watchdog.isRemovalDeferred() ? DEFERRED_REMOVALS_PER_TICK : Integer.MAX_VALUE;
+
+        // Every cage due this tick comes back as one chain, already unlinked from the wheel
+        Cage cage;
+        synchronized (expiries) {
+            cage = expiries.advance();
+        }
+        while (cage != null) {
+            Cage next = cage.wheelNext;
+            cage.wheelNext = null;
+            if (allowed > 0) {
+                allowed--;
+                // A cage its player replaced in the meantime was removed by the new cast
+                if (activeCages.remove(cage.owner, cage)) {
+                    removeCage(cage, false);
+                }
+            } else {
+                // Over budget: keep the cage up one more tick
+                synchronized (expiries) {
+                    expiries.schedule(cage, 1L);
+                }
+            }
+            cage = next;
+        }
+        watchdog.charge(System.nanoTime() - start);
+    }
+
+    /**
+     * Sends virtual cages to players that came into or left view.
+     * Each player is checked on their own thread; players that went offline are forgotten here
+     * so they get the cages again when they return.
+     */
+    private void refreshAllViewers() {
+        if (virtualCages.isEmpty()) return;
+        long start = System.nanoTime();
+        onlinePlayers.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            onlinePlayers.add(player.getUniqueId());
+            scheduler.executeAt(player, () -> refreshViewer(player));
+        }
+        for (Cage cage : virtualCages) {
+            cage.viewers.retainAll(onlinePlayers);
+        }
+        plugin.getTickWatchdog().charge(System.nanoTime() - start);
+    }
+
+    /**
+     * Stops the expiry and viewer tasks and closes the journal.
+     * Call after {@link #removeAllCages()}.
+     */
+    public void shutdown() {
+        if (expiryTask != null) {
+            expiryTask.cancel();
+            expiryTask = null;
+        }
+        if (viewerTask != null) {
+            viewerTask.cancel();
+            viewerTask = null;
+        }
+        closeJournal();
+    }
+
+    /**
+     * Opens the cage journal, clears any barriers a previous run left behind
+     * and starts the periodic compaction task.
+     * If the journal cannot be opened, cages keep working without crash protection.
+     * Leftovers are cleared a chunk column at a time; columns owned by another thread are
+     * cleared there on its next tick.
+     *
+     * @param file The journal file
+     */
+    public void openJournal(File file) {
+        CageJournal opened = new CageJournal(file.toPath());
+        List<CageJournal.Orphan> orphans;
+        try {
+            orphans = opened.open();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not open cage journal " + file + ", barrier cages will not survive a crash: " + e.getMessage());
+            return;
+        }
+
+        int cleared = 0;
+        int deferred = 0;
+        // Orphans with barriers still standing, kept in the journal until their columns are cleared
+        List<Cage> recovered = new ArrayList<>();
+        for (CageJournal.Orphan orphan : orphans) {
+            // Group the cage's blocks by chunk column, each cleared by the thread owning it
+            Map<Long, Cage.Part> columns = new HashMap<>();
+            long[] blocks = orphan.getBlocks();
+            for (int i = 0; i < orphan.getBlockCount(); i++) {
+                long pos = blocks[i];
+                int chunkX = BlockPos.x(pos) >> 4;
+                int chunkZ = BlockPos.z(pos) >> 4;
+                Cage.Part column = columns.computeIfAbsent(((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL),
+                        key -> new Cage.Part(chunkX, chunkZ, NO_CELLS));
+                synchronized (column) {
+                    column.addBlock(pos);
+                }
+            }
+
+            World world = Bukkit.getWorld(orphan.getWorldId());
+            if (world == null) {
+                plugin.getLogger().warning("Cannot clear " + orphan.getBlockCount() + " leftover barrier blocks in missing world "
+                        + orphan.getWorldId() + ", they stay journaled for a later start");
+                recovered.add(recoveredCage(orphan, columns.values().toArray(new Cage.Part[0])));
+                continue;
+            }
+
+            List<Cage.Part> deferredColumns = new ArrayList<>();
+            for (Cage.Part column : columns.values()) {
+                if (scheduler.isOwnedByCurrentRegion(world, column.chunkX, column.chunkZ)) {
+                    cleared += clearOrphanBlocks(world, column);
+                } else {
+                    deferredColumns.add(column);
+                }
+            }
+            if (deferredColumns.isEmpty()) continue;
+
+            Cage cage = recoveredCage(orphan, deferredColumns.toArray(new Cage.Part[0]));
+            recovered.add(cage);
+            pendingRemovals.add(cage);
+            cage.partsToRemove.set(cage.parts.length);
+            for (Cage.Part column : cage.parts) {
+                // Tombstoned once its last column is cleared; a crash before then finds it again
+                scheduler.runAtChunk(world, column.chunkX, column.chunkZ, () -> {
+                    clearOrphanBlocks(world, column);
+                    if (cage.partsToRemove.decrementAndGet() == 0) {
+                        journalClose(cage);
+                    }
+                });
+                deferred++;
+            }
+        }
+        if (!orphans.isEmpty()) {
+            plugin.getLogger().info("Cleared " + cleared + " barrier blocks left behind by " + orphans.size()
+                    + " cages after an unclean shutdown" + (deferred > 0 ? ", " + deferred + " more chunks are cleared by their regions" : ""));
+        }
+
+        try {
+            opened.compact(recovered);
+        } catch (IOException e) {
+            // The old file, recovered cages included, is still in place if it stays writable
+            plugin.getLogger().warning("Could not compact cage journal: " + e.getMessage());
+            if (!opened.isWritable()) {
+                plugin.getLogger().warning("Barrier cages will not survive a crash");
+                return;
+            }
+        }
+        synchronized (journalLock) {
+            this.journal = opened;
+            journaledCages.addAll(recovered);
+        }
+
+        compactTask = scheduler.runGlobalTimer(() -> {
+            synchronized (journalLock) {
+                if (journal != null && journal.size() > COMPACT_THRESHOLD_BYTES) {
+                    compactJournal();
+                }
+            }
+        }, COMPACT_INTERVAL_TICKS, COMPACT_INTERVAL_TICKS);
+    }
+
+    /**
+     * Wraps the uncleared columns of a cage from a previous run so compaction keeps them journaled.
+     * The cage has no owner or shape; it is never active, only cleared.
+     *
+     * @param orphan The cage as found in the journal
+     * @param columns The columns whose barriers are still standing
+     * @return The cage, under the orphan's journal handle
+     */
+    private static Cage recoveredCage(CageJournal.Orphan orphan, Cage.Part[] columns) {
+        Cage cage = new Cage(null, orphan.getWorldId(), 0, 0, 0, null, 0, columns, false);
+        cage.journalHandle = orphan.getHandle();
+        cage.expiresAt = orphan.getExpiresAt();
+        cage.removed = true;
+        return cage;
+    }
+
+    /**
+     * Clears barriers a cage from a previous run left in one chunk column.
+     *
+     * @param world The cage's world
+     * @param column The journaled blocks in the column
+     * @return The number of barriers cleared
+     */
+    private int clearOrphanBlocks(World world, Cage.Part column) {
+        int cleared = 0;
+        synchronized (column) {
+            for (int i = 0; i < column.blockCount; i++) {
+                long pos = column.blocks[i];
+                Block block = world.getBlockAt(BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos));
+                if (block.getType() == Material.BARRIER) {
+                    block.setType(Material.AIR);
+                    cleared++;
+                }
+            }
+        }
+        return cleared;
+    }
+
+    /**
+     * Stops compaction and closes the journal.
+     */
+    private void closeJournal() {
+        if (compactTask != null) {
+            compactTask.cancel();
+            compactTask = null;
+        }
+        synchronized (journalLock) {
+            if (journal == null) return;
+
+            compactJournal();
+            if (journal == null) return;
+            try {
+                journal.close();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not close cage journal: " + e.getMessage());
+            }
+            journal = null;
+            journaledCages.clear();
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the cages whose barriers may still be standing.
+     * Call while holding {@link #journalLock}.
+     */
+    private void compactJournal() {
+        try {
+            journal.compact(journaledCages);
+        } catch (IOException e) {
+            if (journal.isWritable()) {
+                plugin.getLogger().warning("Could not compact cage journal: " + e.getMessage());
+            } else {
+                disableJournal(e);
+            }
+        }
+    }
+
+    /**
+     * Records a new cage in the journal, before any of its blocks are placed.
+     *
+     * @param cage The cage
+     */
+    private void journalOpen(Cage cage) {
+        synchronized (journalLock) {
+            if (journal == null) return;
+            try {
+                cage.journalHandle = journal.openCage(cage.worldId, cage.expiresAt);
+                journaledCages.add(cage);
+            } catch (IllegalStateException e) {
+                disableJournal(e);
+            }
+        }
+    }
+
+    private void journalBlocks(Cage cage, long[] packedPositions, int count) {
+        if (count == 0) return;
+        synchronized (journalLock) {
+            if (journal == null) return;
+            try {
+                journal.recordBlocks(cage.journalHandle, packedPositions, count);
+            } catch (IllegalStateException e) {
+                disableJournal(e);
+            }
+        }
+    }
+
+    private void journalClose(Cage cage) {
+        pendingRemovals.remove(cage);
+        synchronized (journalLock) {
+            if (!journaledCages.remove(cage) || journal == null) return;
+            try {
+                journal.closeCage(cage.journalHandle);
+            } catch (IllegalStateException e) {
+                disableJournal(e);
+            }
+        }
+    }
+
+    /**
+     * Stops journaling after a failure. Call while holding {@link #journalLock}.
+     */
+    private void disableJournal(Exception e) {
+        plugin.getLogger().warning("Cage journal failed, barrier cages will not survive a crash: " + e.getMessage());
+        try {
+            journal.close();
+        } catch (IOException ignored) {
+            // Already failing; nothing more to report
+        }
+        journal = null;
+        journaledCages.clear();
     }
 
     /**
@@ -36,7 +415,7 @@ public class BarrierCageManager {
      * @return Cage radius in blocks
      */
     public int getCageRadius() {
-        return plugin.getConfig().getInt("barrier-cage.radius", DEFAULT_CAGE_RADIUS);
+        return plugin.getWeaponsConfig().getCageRadius();
     }
 
     /**
@@ -45,7 +424,7 @@ public class BarrierCageManager {
      * @return Cage duration in seconds
      */
     public int getCageDuration() {
-        return plugin.getConfig().getInt("barrier-cage.duration", DEFAULT_CAGE_DURATION_SECONDS);
+        return plugin.getWeaponsConfig().getCageDuration();
     }
 
     /**
@@ -54,55 +433,435 @@ public class BarrierCageManager {
      * @param player The player to create the cage around
      */
     public void createCage(Player player) {
+        createCage(player, plugin.getWeaponsConfig());
+    }
+
+    /**
+     * Creates a barrier cage around the player using the given config snapshot.
+     * The shell is split by chunk column and each column is queued on the thread owning it,
+     * which scans it and places its barriers over the next ticks, body height first.
+     *
+     * @param player The player to create the cage around
+     * @param config The config snapshot to read the cage settings from
+     */
+    public void createCage(Player player, WeaponsConfig config) {
         UUID playerUuid = player.getUniqueId();
-        int cageRadius = getCageRadius();
-        int cageDuration = getCageDuration();
+        int cageRadius = config.getCageRadius();
 
-        // Remove any existing cage for this player
-        if (activeCages.containsKey(playerUuid)) {
-            removeCage(playerUuid);
+        // Remove any existing cage for this player; the columns this thread owns are cleared right away,
+        // and the rest are cleared before the new cage's columns are scanned, since they queue first
+        Cage previous = activeCages.remove(playerUuid);
+        if (previous != null) {
+            removeCage(previous, true);
         }
 
         Location center = player.getLocation().getBlock().getLocation();
         World world = center.getWorld();
         if (world == null) return;
 
-        Set<Location> cageBlocks = new HashSet<>();
-
-        // Create a hollow sphere of barrier blocks
-        for (int x = -cageRadius; x <= cageRadius; x++) {
-            for (int y = -cageRadius; y <= cageRadius; y++) {
-                for (int z = -cageRadius; z <= cageRadius; z++) {
-                    double distance = Math.sqrt(x * x + y * y + z * z);
-                    
-                    // Only place blocks on the outer shell of the sphere
-                    if (distance >= cageRadius - 0.5 && distance <= cageRadius + 0.5) {
-                        Location blockLoc = center.clone().add(x, y, z);
-                        Block block = blockLoc.getBlock();
-                        
-                        // Only replace air blocks to avoid destroying terrain
-                        if (block.getType() == Material.AIR || block.getType() == Material.CAVE_AIR) {
-                            block.setType(Material.BARRIER);
-                            cageBlocks.add(blockLoc);
+        int originX = center.getBlockX();
+        int originY = center.getBlockY();
+        int originZ = center.getBlockZ();
+        Cage.Part[] parts = splitShell(world, originX, originY, originZ, config.getCageShell(), cageRadius);
+        Cage cage = new Cage(playerUuid, world.getUID(), originX, originY, originZ,
+                config.getCageShape(), cageRadius, parts, config.isVirtualCages());
+        cage.expiresAt = System.currentTimeMillis() + config.getCageDuration() * 1000L;
+        if (cage.virtual) {
+            virtualCages.add(cage);
+            cage.partsToPrepare.set(parts.length);
+            for (Cage.Part part : parts) {
+                scheduler.executeAt(world, part.chunkX, part.chunkZ, () -> prepareVirtual(world, cage, part));
+            }
+        } else {
+            journalOpen(cage);
+            for (Cage.Part part : parts) {
+                mutationQueue.submit(new PlaceJob(cage, part), world, part.chunkX, part.chunkZ);
+            }
+        }
+
+        // Store the cage, then let it expire
+        Cage displaced = activeCages.put(playerUuid, cage);
+        if (displaced != null) {
+            removeCage(displaced, false);
+        }
+        synchronized (expiries) {
+            expiries.schedule(cage, config.getCageDurationTicks());
+        }
+
+        // Spawn particles around the cage for visual effect
+        spawnCageParticles(center, world, cageRadius);
+    }
+
+    /**
+     * Splits a shell into one part per chunk column it touches, dropping cells outside the world's height.
+     * No chunk is read, so this is safe on any thread.
+     *
+     * @param world The world the cage is in
+     * @param originX Cage origin block X
+     * @param originY Cage origin block Y
+     * @param originZ Cage origin block Z
+     * @param shell Packed shell offsets
+     * @param radius The cage radius, bounding the chunks touched
+     * @return The parts, each with its cells in shell order
+     */
+    private static Cage.Part[] splitShell(World world, int originX, int originY, int originZ, int[] shell, int radius) {
+        int minHeight = world.getMinHeight();
+        int maxHeight = world.getMaxHeight();
+        int minChunkX = (originX - radius) >> 4;
+        int minChunkZ = (originZ - radius) >> 4;
+        int chunkSpanZ = ((originZ + radius) >> 4) - minChunkZ + 1;
+        int[] sizes = new int[(((originX + radius) >> 4) - minChunkX + 1) * chunkSpanZ];
+
+        // Count the cells per column, then copy them into one array per column
+        int[] columnOf = new int[shell.length];
+        for (int i = 0; i < shell.length; i++) {
+            int offset = shell[i];
+            int x = originX + CageShells.offsetX(offset);
+            int y = originY + CageShells.offsetY(offset);
+            int z = originZ + CageShells.offsetZ(offset);
+            if (y < minHeight || y >= maxHeight) {
+                columnOf[i] = -1;
+                continue;
+            }
+            int column = ((x >> 4) - minChunkX) * chunkSpanZ + ((z >> 4) - minChunkZ);
+            columnOf[i] = column;
+            sizes[column]++;
+        }
+        int[][] cells = new int[sizes.length][];
+        int partCount = 0;
+        for (int column = 0; column < sizes.length; column++) {
+            if (sizes[column] > 0) {
+                cells[column] = new int[sizes[column]];
+                sizes[column] = 0;
+                partCount++;
+            }
+        }
+        for (int i = 0; i < shell.length; i++) {
+            int column = columnOf[i];
+            if (column >= 0) {
+                cells[column][sizes[column]++] = shell[i];
+            }
+        }
+
+        Cage.Part[] parts = new Cage.Part[partCount];
+        int part = 0;
+        for (int column = 0; column < cells.length; column++) {
+            if (cells[column] != null) {
+                parts[part++] = new Cage.Part(minChunkX + column / chunkSpanZ, minChunkZ + column % chunkSpanZ, cells[column]);
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Builds one column of a virtual cage's fake barriers and registers it for movement checks.
+     * Runs on the thread owning the column; once the last column is ready the cage is sent to
+     * the players in view.
+     *
+     * @param world The world the cage is in
+     * @param cage The virtual cage
+     * @param part The column
+     */
+    private void prepareVirtual(World world, Cage cage, Cage.Part part) {
+        if (cage.removed) return;
+        int[] airCells = scanAirCells(world, ownershipIn(cage.worldId), cage, part);
+        BlockData barrier = Material.BARRIER.createBlockData();
+        List<BlockState> fake = new ArrayList<>(airCells.length);
+        List<BlockState> real = new ArrayList<>(airCells.length);
+        long[] positions = new long[airCells.length];
+        for (int i = 0; i < airCells.length; i++) {
+            int offset = airCells[i];
+            int x = cage.originX + CageShells.offsetX(offset);
+            int y = cage.originY + CageShells.offsetY(offset);
+            int z = cage.originZ + CageShells.offsetZ(offset);
+            Block block = world.getBlockAt(x, y, z);
+            // Kept so removal can revert players' views without reading the world again
+            real.add(block.getState());
+            BlockState state = block.getState();
+            state.setBlockData(barrier);
+            fake.add(state);
+            positions[i] = BlockPos.pack(x, y, z);
+        }
+
+        BlockOwnershipIndex shells = virtualShellsIn(cage.worldId);
+        synchronized (part) {
+            // Removed while the states were read: register nothing, so removal has nothing to release
+            if (cage.removed) return;
+            synchronized (shells) {
+                for (long pos : positions) {
+                    shells.acquire(pos);
+                }
+            }
+            part.addBlocks(positions, positions.length);
+            part.virtualStates = fake;
+            part.realStates = real;
+        }
+
+        if (cage.partsToPrepare.decrementAndGet() == 0) {
+            List<BlockState> states = new ArrayList<>();
+            for (Cage.Part ready : cage.parts) {
+                synchronized (ready) {
+                    states.addAll(ready.virtualStates);
+                }
+            }
+            cage.virtualStates = states;
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                scheduler.executeAt(player, () -> refreshViewer(player, cage));
+            }
+        }
+    }
+
+    /**
+     * Sends every virtual cage a player came into view of, and forgets those they left.
+     * Runs on the player's thread.
+     *
+     * @param player The player
+     */
+    private void refreshViewer(Player player) {
+        if (!player.isOnline()) return;
+        for (Cage cage : virtualCages) {
+            refreshViewer(player, cage);
+        }
+    }
+
+    /**
+     * Sends a virtual cage to a player that came into view as one batched update, or forgets a
+     * player that left view or the world so they get it again on return.
+     * Runs on the player's thread, so the player and their world's view distance are read there.
+     *
+     * @param player The player
+     * @param cage The virtual cage
+     */
+    private void refreshViewer(Player player, Cage cage) {
+        UUID playerUuid = player.getUniqueId();
+        List<BlockState> states = cage.virtualStates;
+        // Not every column has read its states yet
+        if (states == null) return;
+
+        World world = player.getWorld();
+        boolean inView = false;
+        if (world.getUID().equals(cage.worldId)) {
+            double viewDistance = world.getViewDistance() * 16.0;
+            Location location = player.getLocation();
+            double dx = location.getX() - cage.originX;
+            double dz = location.getZ() - cage.originZ;
+            inView = dx * dx + dz * dz <= viewDistance * viewDistance;
+        }
+        if (!inView) {
+            cage.viewers.remove(playerUuid);
+            return;
+        }
+        if (cage.removed || !cage.viewers.add(playerUuid)) return;
+
+        player.sendBlockChanges(states);
+        // Removed while sending: if the removal has not reverted this player, it falls to us
+        if (cage.removed) {
+            List<BlockState> revert = cage.revertStates;
+            if (revert != null && cage.viewers.remove(playerUuid) && !revert.isEmpty()) {
+                player.sendBlockChanges(revert);
+            }
+        }
+    }
+
+    /**
+     * Reverts a virtual cage for its viewers, leaving cells another virtual cage still shows.
+     * The states sent back are the ones read when the cage was built, so no chunk is read here.
+     * Each viewer is sent them on their own thread, or right away when the plugin is disabling
+     * and no more tasks will run; block changes only send packets and never read the world.
+     *
+     * @param cage The virtual cage, already marked removed
+     * @param disabling true when called while the plugin disables
+     */
+    private void removeVirtual(Cage cage, boolean disabling) {
+        virtualCages.remove(cage);
+        BlockOwnershipIndex shells = virtualShellsIn(cage.worldId);
+
+        List<BlockState> real = new ArrayList<>();
+        for (Cage.Part part : cage.parts) {
+            synchronized (part) {
+                synchronized (shells) {
+                    for (int i = 0; i < part.blockCount; i++) {
+                        if (shells.release(part.blocks[i]) == 0) {
+                            real.add(part.realStates.get(i));
                         }
                     }
                 }
             }
         }
+        cage.revertStates = real;
+
+        for (UUID viewerUuid : cage.viewers) {
+            // A viewer refreshing at the same time may have taken it already
+            if (!cage.viewers.remove(viewerUuid) || real.isEmpty()) continue;
+            Player viewer = Bukkit.getPlayer(viewerUuid);
+            if (viewer == null) continue;
+            if (disabling) {
+                try {
+                    sendRevert(viewer, cage, real);
+                } catch (RuntimeException e) {
+                    plugin.getLogger().warning("Could not revert a virtual barrier cage for " + viewer.getName() + ": " + e.getMessage());
+                }
+            } else {
+                scheduler.executeAt(viewer, () -> sendRevert(viewer, cage, real));
+            }
+        }
+    }
 
-        // Store the cage blocks
-        activeCages.put(playerUuid, cageBlocks);
+    private void sendRevert(Player viewer, Cage cage, List<BlockState> states) {
+        // A viewer that changed worlds no longer sees the cage
+        if (viewer.isOnline() && viewer.getWorld().getUID().equals(cage.worldId)) {
+            viewer.sendBlockChanges(states);
+        }
+    }
 
-        // Spawn particles around the cage for visual effect
-        spawnCageParticles(center, world, cageRadius);
+    /**
+     * Checks whether a block is part of a virtual cage's shell.
+     *
+     * @param world The world
+     * @param x Block X
+     * @param y Block Y
+     * @param z Block Z
+     * @return true if a virtual cage shows a barrier there
+     */
+    public boolean isVirtualBarrier(World world, int x, int y, int z) {
+        if (virtualCages.isEmpty()) return false;
+        BlockOwnershipIndex shells = virtualShells.get(world.getUID());
+        if (shells == null) return false;
+        synchronized (shells) {
+            return shells.count(BlockPos.pack(x, y, z)) > 0;
+        }
+    }
+
+    /**
+     * Checks whether moving from one point to another would take a player into, out of or through
+     * a virtual cage. The path is sampled every {@value #CROSSING_STEP} blocks inside each cage's
+     * bounds, so moves of many blocks per tick and teleports are caught as well as single steps.
+     * Cages are only checked once they have been sent to their viewers.
+     *
+     * @param world The world both points are in
+     * @param from Where the move starts
+     * @param to Where the move ends
+     * @return true if the move crosses a virtual cage's shell
+     */
+    public boolean crossesVirtualCage(World world, Location from, Location to) {
+        if (virtualCages.isEmpty()) return false;
+        UUID worldId = world.getUID();
+        for (Cage cage : virtualCages) {
+            if (cage.removed || cage.virtualStates == null || !cage.worldId.equals(worldId)) continue;
+            if (crosses(cage, from.getX(), from.getY(), from.getZ(), to.getX(), to.getY(), to.getZ())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a path leaves the side of a cage's shell it starts on.
+     */
+    private static boolean crosses(Cage cage, double fromX, double fromY, double fromZ, double toX, double toY, double toZ) {
+        // Relative to the cage's origin block
+        double ax = fromX - cage.originX;
+        double ay = fromY - cage.originY;
+        double az = fromZ - cage.originZ;
+        double dx = toX - fromX;
+        double dy = toY - fromY;
+        double dz = toZ - fromZ;
+
+        // Clip the path to the cage's bounds; outside them every point is outside the cage
+        double[] range = {0, 1};
+        int radius = cage.radius;
+        if (!clip(ax, dx, -radius, radius + 1, range)
+                || !clip(ay, dy, -radius, cage.shape.maxY(radius) + 1, range)
+                || !clip(az, dz, -radius, radius + 1, range)) {
+            return false;
+        }
+
+        boolean inside = isInside(cage, ax, ay, az);
+        double length = Math.sqrt(dx * dx + dy * dy + dz * dz) * (range[1] - range[0]);
+        int steps = Math.max(1, (int) Math.ceil(length / CROSSING_STEP));
+        for (int step = 0; step <= steps; step++) {
+            double t = range[0] + (range[1] - range[0]) * step / steps;
+            if (isInside(cage, ax + dx * t, ay + dy * t, az + dz * t) != inside) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInside(Cage cage, double x, double y, double z) {
+        return cage.shape.isInside((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z), cage.radius);
+    }
+
+    /**
+     * Narrows a path's parameter range to where one coordinate lies between two bounds.
+     *
+     * @return false if no part of the range is left
+     */
+    private static boolean clip(double start, double delta, double min, double max, double[] range) {
+        if (delta == 0) {
+            return start >= min && start < max;
+        }
+        double t0 = (min - start) / delta;
+        double t1 = (max - start) / delta;
+        range[0] = Math.max(range[0], Math.min(t0, t1));
+        range[1] = Math.min(range[1], Math.max(t0, t1));
+        return range[0] <= range[1];
+    }
+
+    /**
+     * Checks whether any virtual cage is active.
+     *
+     * @return true if movement needs checking against virtual shells
+     */
+    public boolean hasVirtualCages() {
+        return !virtualCages.isEmpty();
+    }
+
+    private BlockOwnershipIndex ownershipIn(UUID worldId) {
+        return ownership.computeIfAbsent(worldId, id -> new BlockOwnershipIndex());
+    }
+
+    private BlockOwnershipIndex virtualShellsIn(UUID worldId) {
+        return virtualShells.computeIfAbsent(worldId, id -> new BlockOwnershipIndex());
+    }
+
+    /**
+     * Reads a cage column's chunk in bulk and finds the cells that are air
+     * or barriers owned by another cage.
+     * Only these cells are queued, so cells that stay unchanged never touch the live world.
+     * Runs on the thread owning the column's chunk.
+     *
+     * @param world The world the cage is in
+     * @param owners Barrier owner counts for the world
+     * @param cage The cage
+     * @param part The column to scan
+     * @return Packed offsets of the air cells, in shell order
+     */
+    private int[] scanAirCells(World world, BlockOwnershipIndex owners, Cage cage, Cage.Part part) {
+        long start = System.nanoTime();
+        ChunkSnapshot snapshot = world.getChunkAt(part.chunkX, part.chunkZ).getChunkSnapshot(false, false, false);
 
-        // Schedule removal of the cage after duration expires
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                removeCage(playerUuid);
+        int[] cells = part.cells;
+        int[] airCells = new int[cells.length];
+        int count = 0;
+        for (int offset : cells) {
+            int x = cage.originX + CageShells.offsetX(offset);
+            int y = cage.originY + CageShells.offsetY(offset);
+            int z = cage.originZ + CageShells.offsetZ(offset);
+            Material type = snapshot.getBlockType(x & 15, y, z & 15);
+            if (type == Material.AIR || type == Material.CAVE_AIR) {
+                airCells[count++] = offset;
+            } else if (type == Material.BARRIER) {
+                synchronized (owners) {
+                    if (owners.count(BlockPos.pack(x, y, z)) > 0) {
+                        airCells[count++] = offset;
+                    }
+                }
             }
-        }.runTaskLater(plugin, cageDuration * 20L);
+        }
+
+        plugin.getStatsManager().recordCageScan(System.nanoTime() - start, cells.length, count);
+        return Arrays.copyOf(airCells, count);
     }
 
     /**
@@ -113,55 +872,159 @@ public class BarrierCageManager {
      * @param radius The radius of the cage
      */
     private void spawnCageParticles(Location center, World world, int radius) {
+        ParticleManager particles = plugin.getParticleManager();
+        double centerX = center.getX() + 0.5;
+        double centerY = center.getY() + 1;
+        double centerZ = center.getZ() + 0.5;
+
         // Spawn soul fire particles around the cage perimeter
-        for (int i = 0; i < 360; i += 15) {
-            double radians = Math.toRadians(i);
-            double x = center.getX() + 0.5 + radius * Math.cos(radians);
-            double z = center.getZ() + 0.5 + radius * Math.sin(radians);
-            
-            world.spawnParticle(Particle.SOUL_FIRE_FLAME, x, center.getY() + 1, z, 3, 0.1, 0.5, 0.1, 0.02);
+        int points = 360 / PERIMETER_STEP_DEGREES;
+        int stride = particles.beginShape(world, centerX, centerY, centerZ, points, 1, plugin.getTickWatchdog().getCageParticleStride());
+        if (stride == 0) return;
+        for (int point = 0; point < points; point += stride) {
+            double radians = Math.toRadians(point * PERIMETER_STEP_DEGREES);
+            double x = centerX + radius * Math.cos(radians);
+            double z = centerZ + radius * Math.sin(radians);
+
+            particles.shapePoint(Particle.SOUL_FIRE_FLAME, x, centerY, z, 3, 0.1, 0.5, 0.1, 0.02);
         }
+        particles.endShape();
     }
 
     /**
      * Removes a player's barrier cage.
+     * Stops any placement still in progress and queues the placed blocks for removal.
      *
      * @param playerUuid The UUID of the player whose cage to remove
      */
     public void removeCage(UUID playerUuid) {
-        Set<Location> cageBlocks = activeCages.remove(playerUuid);
-        if (cageBlocks == null) return;
+        Cage cage = activeCages.remove(playerUuid);
+        if (cage != null) {
+            removeCage(cage, false);
+        }
+    }
 
-        for (Location loc : cageBlocks) {
-            Block block = loc.getBlock();
-            // Only remove if it's still a barrier block (to avoid removing other blocks)
-            if (block.getType() == Material.BARRIER) {
-                block.setType(Material.AIR);
+    /**
+     * Removes a cage that the caller has taken out of the active map.
+     *
+     * @param cage The cage to remove
+     * @param immediate true to clear the blocks of the columns the current thread owns now,
+     *                  instead of queueing them
+     */
+    private void removeCage(Cage cage, boolean immediate) {
+        long start = System.nanoTime();
+        // Stops placement: each column's next batch sees it on the column's own thread
+        cage.removed = true;
+        synchronized (expiries) {
+            expiries.cancel(cage);
+        }
+        World world = Bukkit.getWorld(cage.worldId);
+        if (world != null) {
+            spawnRemovalParticles(world, cage);
+        }
+
+        if (cage.virtual) {
+            removeVirtual(cage, false);
+        } else {
+            pendingRemovals.add(cage);
+            cage.partsToRemove.set(cage.parts.length);
+            if (cage.parts.length == 0) {
+                journalClose(cage);
+            }
+            // Every column gets a job, even if it placed nothing yet: only its own thread knows
+            for (Cage.Part part : cage.parts) {
+                RemoveJob removal = new RemoveJob(cage, part);
+                // Without a world there is nothing to clear, only ownership to give up
+                if (world == null || (immediate && scheduler.isOwnedByCurrentRegion(world, part.chunkX, part.chunkZ))) {
+                    while (!removal.isDone()) {
+                        removal.process(Integer.MAX_VALUE);
+                    }
+                } else {
+                    mutationQueue.submit(removal, world, part.chunkX, part.chunkZ);
+                }
             }
         }
+        plugin.getStatsManager().recordCageRemoval(System.nanoTime() - start);
+    }
 
-        // Spawn particles when cage disappears
-        if (!cageBlocks.isEmpty()) {
-            Location firstLoc = cageBlocks.iterator().next();
-            World world = firstLoc.getWorld();
-            if (world != null) {
-                for (Location loc : cageBlocks) {
-                    world.spawnParticle(Particle.SCULK_SOUL, loc.clone().add(0.5, 0.5, 0.5), 1, 0.2, 0.2, 0.2, 0.05);
+    /**
+     * Spawns particles where a cage's blocks were, sampling the shell sparsely when over budget.
+     *
+     * @param world The world the cage is in
+     * @param cage The cage
+     */
+    private void spawnRemovalParticles(World world, Cage cage) {
+        int total = 0;
+        for (Cage.Part part : cage.parts) {
+            synchronized (part) {
+                total += part.blockCount;
+            }
+        }
+        if (total == 0) return;
+
+        ParticleManager particles = plugin.getParticleManager();
+        int stride = particles.beginShape(world, cage.originX, cage.originY, cage.originZ, total, 1,
+                plugin.getTickWatchdog().getCageParticleStride());
+        if (stride == 0) return;
+        // Stride over the blocks of all columns as one sequence
+        int base = 0;
+        int next = 0;
+        for (Cage.Part part : cage.parts) {
+            synchronized (part) {
+                int i = next - base;
+                for (; i < part.blockCount; i += stride) {
+                    long pos = part.blocks[i];
+                    particles.shapePoint(Particle.SCULK_SOUL, BlockPos.x(pos) + 0.5, BlockPos.y(pos) + 0.5, BlockPos.z(pos) + 0.5, 1, 0.2, 0.2, 0.2, 0.05);
                 }
+                next = base + i;
+                base += part.blockCount;
             }
         }
+        particles.endShape();
     }
 
     /**
-     * Removes all active barrier cages.
+     * Removes all active barrier cages immediately.
      * Called when the plugin is disabled to clean up.
+     *
+     * <p>On a region-threaded server the cages' chunks belong to region threads that may already
+     * have stopped, so placement is stopped and the barriers are left in the journal,
+     * which clears them on the next start. Virtual cages are reverted for their viewers right away.</p>
      */
     public void removeAllCages() {
-        // Collect UUIDs to avoid ConcurrentModificationException
+        if (scheduler.isRegionThreaded()) {
+            int left = 0;
+            for (Cage cage : activeCages.values()) {
+                cage.removed = true;
+                synchronized (expiries) {
+                    expiries.cancel(cage);
+                }
+                if (cage.virtual) {
+                    // Viewers keep the fake barriers until reverted, and no task will run to do it
+                    removeVirtual(cage, true);
+                } else {
+                    left++;
+                }
+            }
+            left += pendingRemovals.size();
+            if (left > 0) {
+                boolean journaled;
+                synchronized (journalLock) {
+                    journaled = journal != null;
+                }
+                plugin.getLogger().info(left + " barrier cages are left for the journal to clear on the next start"
+                        + (journaled ? "" : ", but the journal is unavailable and their barriers will stay"));
+            }
+            return;
+        }
+
+        // Collect UUIDs first; removal changes the map
         UUID[] playerUuids = activeCages.keySet().toArray(new UUID[0]);
         for (UUID playerUuid : playerUuids) {
             removeCage(playerUuid);
         }
+        // No more ticks will drain the queue, so apply everything now
+        mutationQueue.flush();
     }
 
     /**
@@ -173,4 +1036,209 @@ public class BarrierCageManager {
     public boolean hasActiveCage(UUID playerUuid) {
         return activeCages.containsKey(playerUuid);
     }
+
+    /**
+     * Gets the number of active cages, including virtual ones.
+     *
+     * @return The active cage count
+     */
+    public int getActiveCageCount() {
+        return activeCages.size();
+    }
+
+    /**
+     * Gets the number of cages whose barriers are still being cleared.
+     *
+     * @return The pending removal count
+     */
+    public int getPendingRemovalCount() {
+        return pendingRemovals.size();
+    }
+
+    /**
+     * Scans one column of a cage and places its barriers a batch at a time, on the thread owning
+     * the column. Cells come from the snapshot air mask; each is re-checked on its live block
+     * because the world may have changed since the snapshot was taken.
+     */
+    private class PlaceJob implements BlockMutationQueue.Job {
+
+        private final Cage cage;
+        private final Cage.Part part;
+        private final BlockOwnershipIndex owners;
+        // Null until the first run scans the column
+        private int[] airCells;
+        private int cursor;
+        // One batch's blocks to claim, and the air blocks among them to set; reused between batches
+        private long[] batch = new long[0];
+        private Block[] airBlocks = new Block[0];
+
+        PlaceJob(Cage cage, Cage.Part part) {
+            this.cage = cage;
+            this.part = part;
+            this.owners = ownershipIn(cage.worldId);
+        }
+
+        @Override
+        public int process(int maxBlocks) {
+            World world = Bukkit.getWorld(cage.worldId);
+            if (world == null) {
+                // World unloaded mid-placement: nothing more can be placed
+                airCells = NO_CELLS;
+                return 1;
+            }
+            if (airCells == null) {
+                airCells = scanAirCells(world, owners, cage, part);
+                if (airCells.length == 0) return 1;
+            }
+
+            int end = (int) Math.min(airCells.length, (long) cursor + maxBlocks);
+            int visited = end - cursor;
+            if (batch.length < visited) {
+                batch = new long[visited];
+                airBlocks = new Block[visited];
+            }
+
+            // Read the live blocks with no lock held
+            int count = 0;
+            for (; cursor < end; cursor++) {
+                int offset = airCells[cursor];
+                int x = cage.originX + CageShells.offsetX(offset);
+                int y = cage.originY + CageShells.offsetY(offset);
+                int z = cage.originZ + CageShells.offsetZ(offset);
+                Block block = world.getBlockAt(x, y, z);
+
+                // Only replace air blocks to avoid destroying terrain
+                Material type = block.getType();
+                if (type == Material.AIR || type == Material.CAVE_AIR) {
+                    batch[count] = BlockPos.pack(x, y, z);
+                    airBlocks[count++] = block;
+                } else if (type == Material.BARRIER) {
+                    batch[count] = BlockPos.pack(x, y, z);
+                    airBlocks[count++] = null;
+                }
+            }
+
+            // New or shared with an overlapping cage, either way this cage now owns it;
+            // a barrier that no cage placed is left alone
+            int claimed = 0;
+            synchronized (owners) {
+                for (int i = 0; i < count; i++) {
+                    if (airBlocks[i] == null && owners.count(batch[i]) == 0) continue;
+                    owners.acquire(batch[i]);
+                    batch[claimed] = batch[i];
+                    airBlocks[claimed++] = airBlocks[i];
+                }
+            }
+            synchronized (part) {
+                part.addBlocks(batch, claimed);
+            }
+            // Journaled before they are placed, so a crash never leaves an unrecorded barrier
+            journalBlocks(cage, batch, claimed);
+
+            int placed = 0;
+            for (int i = 0; i < count; i++) {
+                Block block = airBlocks[i];
+                airBlocks[i] = null;
+                if (i < claimed && block != null) {
+                    // A barrier in air needs no neighbour updates, so skip physics
+                    block.setType(Material.BARRIER, false);
+                    placed++;
+                }
+            }
+            plugin.getStatsManager().recordBlocksPlaced(placed);
+            return visited;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cage.removed || (airCells != null && cursor >= airCells.length);
+        }
+    }
+
+    /**
+     * Clears one column of a cage's barriers a batch at a time, outermost layers first, on the
+     * thread owning the column. The last column to finish tombstones the cage in the journal.
+     */
+    private class RemoveJob implements BlockMutationQueue.Job {
+
+        private final Cage cage;
+        private final Cage.Part part;
+        private final BlockOwnershipIndex owners;
+        // Read on the first run, on the column's thread, once its placement has stopped
+        private long[] blocks;
+        private int remaining = -1;
+        // One batch's blocks whose last owner this cage was; reused between batches
+        private long[] freed = new long[0];
+
+        RemoveJob(Cage cage, Cage.Part part) {
+            this.cage = cage;
+            this.part = part;
+            this.owners = ownershipIn(cage.worldId);
+        }
+
+        @Override
+        public int process(int maxBlocks) {
+            if (remaining < 0) {
+                synchronized (part) {
+                    blocks = part.blocks;
+                    remaining = part.blockCount;
+                }
+            }
+
+            World world = Bukkit.getWorld(cage.worldId);
+            if (world == null) {
+                // World unloaded: nothing to clear, but give up ownership so the index does not leak
+                synchronized (owners) {
+                    while (remaining > 0) {
+                        owners.release(blocks[--remaining]);
+                    }
+                }
+                finish();
+                return 1;
+            }
+
+            int visited = Math.min(maxBlocks, remaining);
+            if (freed.length < visited) {
+                freed = new long[visited];
+            }
+            int freedCount = 0;
+            synchronized (owners) {
+                for (int i = 0; i < visited; i++) {
+                    long pos = blocks[--remaining];
+                    // Another active cage still stands on this block
+                    if (owners.release(pos) == 0) {
+                        freed[freedCount++] = pos;
+                    }
+                }
+            }
+
+            int cleared = 0;
+            for (int i = 0; i < freedCount; i++) {
+                long pos = freed[i];
+                Block block = world.getBlockAt(BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos));
+                // Only remove if it's still a barrier block (to avoid removing other blocks).
+                // Physics stays on so neighbouring liquids and falling blocks react to the gap.
+                if (block.getType() == Material.BARRIER) {
+                    block.setType(Material.AIR);
+                    cleared++;
+                }
+            }
+            plugin.getStatsManager().recordBlocksCleared(cleared);
+            if (remaining == 0) {
+                finish();
+            }
+            return visited;
+        }
+
+        private void finish() {
+            if (cage.partsToRemove.decrementAndGet() == 0) {
+                journalClose(cage);
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return remaining == 0;
+        }
+    }
 }
@@ -0,0 +1,250 @@
+package com.ancientcity.weapons.managers;
+
+import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.config.WeaponsConfig;
+import com.ancientcity.weapons.scheduler.ScheduledTask;
+import com.ancientcity.weapons.scheduler.TaskScheduler;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads block writes over several ticks.
+ * Jobs are drained round-robin once per tick until either the block budget or
+ * the time budget for that tick is spent, so large or simultaneous cages never
+ * land in a single tick.
+ *
+ * <p>On a region-threaded server there is no single tick to drain in. Jobs are instead grouped by
+ * the square of chunks their anchor lies in (see {@link TaskScheduler#getRegionShift()}), and each
+ * square is drained round-robin by one task on the thread owning it, with the per-tick budgets shared
+ * by all of the square's jobs. A region spanning several squares gets a budget for each.</p>
+ */
+public class BlockMutationQueue {
+
+    // Blocks a job may process before the queue checks the clock and rotates to the next job
+    private static final int BATCH_SIZE = 32;
+
+    /**
+     * An incremental unit of block work.
+     */
+    public interface Job {
+
+        /**
+         * Processes up to {@code maxBlocks} blocks.
+         *
+         * @param maxBlocks The maximum number of blocks to visit
+         * @return The number of blocks visited, at least 1 unless the job is done
+         */
+        int process(int maxBlocks);
+
+        /**
+         * Checks whether the job has nothing left to do.
+         *
+         * @return true if finished or cancelled
+         */
+        boolean isDone();
+    }
+
+    private final AncientCityWeapons plugin;
+    private final TaskScheduler scheduler;
+    private final ArrayDeque<Job> jobs = new ArrayDeque<>();
+    // One drain task per square of chunks with jobs, on region-threaded servers
+    private final Map<Square, RegionDrain> regionDrains = new ConcurrentHashMap<>();
+    // Jobs submitted to region drains and not finished yet
+    private final AtomicInteger pendingRegionJobs = new AtomicInteger();
+    private ScheduledTask drainTask;
+
+    public BlockMutationQueue(AncientCityWeapons plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getTaskScheduler();
+    }
+
+    /**
+     * Starts draining the queue every tick.
+     */
+    public void start() {
+        if (!scheduler.isRegionThreaded()) {
+            drainTask = scheduler.runGlobalTimer(this::drain, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stops the drain tasks. Pending jobs stay queued; call {@link #flush()} to finish them.
+     */
+    public void shutdown() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        for (RegionDrain regionDrain : regionDrains.values()) {
+            regionDrain.stop();
+        }
+    }
+
+    /**
+     * Queues a job. Its first batch runs on the next drain.
+     * On a region-threaded server the job joins the drain of its anchor chunk's square,
+     * so it must only touch blocks owned by the thread owning the anchor chunk.
+     *
+     * @param job The job to queue
+     * @param world The world the job writes to
+     * @param chunkX X of the chunk the job is anchored to
+     * @param chunkZ Z of the chunk the job is anchored to
+     */
+    public void submit(Job job, World world, int chunkX, int chunkZ) {
+        if (scheduler.isRegionThreaded()) {
+            int shift = scheduler.getRegionShift();
+            Square square = new Square(world.getUID(), chunkX >> shift, chunkZ >> shift);
+            pendingRegionJobs.incrementAndGet();
+            // A drain that just ran out of jobs refuses new ones; replace it
+            RegionDrain regionDrain = regionDrains.computeIfAbsent(square, key -> new RegionDrain(key, world, chunkX, chunkZ));
+            while (!regionDrain.offer(job)) {
+                regionDrains.remove(square, regionDrain);
+                regionDrain = regionDrains.computeIfAbsent(square, key -> new RegionDrain(key, world, chunkX, chunkZ));
+            }
+        } else {
+            jobs.addLast(job);
+        }
+    }
+
+    /**
+     * Runs queued jobs until this tick's block or time budget is spent.
+     */
+    public void drain() {
+        long start = System.nanoTime();
+        runJobs(jobs, start);
+        plugin.getTickWatchdog().charge(System.nanoTime() - start);
+    }
+
+    /**
+     * Runs jobs round-robin until one tick's block or time budget is spent.
+     *
+     * @param queue The jobs to run; finished jobs are removed
+     * @param start When the tick's work started, from {@link System#nanoTime()}
+     * @return The number of jobs that finished
+     */
+    private int runJobs(ArrayDeque<Job> queue, long start) {
+        WeaponsConfig config = plugin.getWeaponsConfig();
+        int remaining = config.getBlocksPerTick();
+        long deadline = start + config.getMutationNanosPerTick();
+        int finished = 0;
+
+        while (remaining > 0 && !queue.isEmpty()) {
+            Job job = queue.pollFirst();
+            if (!job.isDone()) {
+                remaining -= job.process(Math.min(BATCH_SIZE, remaining));
+            }
+            // Rotate so every cage gets its first layers down early
+            if (!job.isDone()) {
+                queue.addLast(job);
+            } else {
+                finished++;
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        return finished;
+    }
+
+    /**
+     * Runs every queued job to completion immediately, ignoring the budget.
+     * Used on disable, when no further ticks will drain the queue.
+     * Jobs on region tasks are not touched, since their chunks belong to other threads.
+     */
+    public void flush() {
+        while (!jobs.isEmpty()) {
+            Job job = jobs.pollFirst();
+            while (!job.isDone()) {
+                job.process(Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of jobs waiting in the queue.
+     *
+     * @return The pending job count
+     */
+    public int getPendingJobs() {
+        return jobs.size() + pendingRegionJobs.get();
+    }
+
+    /**
+     * A square of chunks always owned by one thread.
+     */
+    private record Square(UUID worldId, int x, int z) {
+    }
+
+    /**
+     * Runs the jobs of one square of chunks on the thread owning it, sharing one budget per tick,
+     * and stops once they are all done.
+     */
+    private final class RegionDrain implements Runnable {
+
+        private final Square square;
+        // Only touched by the drain's own thread
+        private final ArrayDeque<Job> running = new ArrayDeque<>();
+        // Jobs submitted from any thread, and whether the drain has stopped taking them; guarded by this drain's monitor
+        private final ArrayDeque<Job> submitted = new ArrayDeque<>();
+        private boolean stopped;
+        // Assigned right after scheduling; a run that finds it unset stops on its next run instead
+        private volatile ScheduledTask task;
+
+        RegionDrain(Square square, World world, int chunkX, int chunkZ) {
+            this.square = square;
+            this.task = scheduler.runAtChunkTimer(world, chunkX, chunkZ, this, 1L, 1L);
+        }
+
+        /**
+         * Hands a job to this drain.
+         *
+         * @param job The job
+         * @return false if the drain has stopped and a new one is needed
+         */
+        synchronized boolean offer(Job job) {
+            if (stopped) return false;
+            submitted.addLast(job);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            // Both deques keep their arrays, so a steady drain allocates nothing
+            synchronized (this) {
+                Job job;
+                while ((job = submitted.pollFirst()) != null) {
+                    running.addLast(job);
+                }
+            }
+
+            int finished = runJobs(running, start);
+            if (finished > 0) {
+                pendingRegionJobs.addAndGet(-finished);
+            }
+            if (running.isEmpty() && task != null) {
+                synchronized (this) {
+                    // A job offered since the transfer keeps the drain going
+                    if (submitted.isEmpty()) {
+                        stop();
+                    }
+                }
+            }
+            plugin.getTickWatchdog().charge(System.nanoTime() - start);
+        }
+
+        synchronized void stop() {
+            ScheduledTask scheduled = task;
+            if (scheduled != null) {
+                stopped = true;
+                scheduled.cancel();
+                regionDrains.remove(square, this);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ancientcity.weapons.managers;
+
+import com.ancientcity.weapons.cage.CageShape;
+import org.bukkit.block.BlockState;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single barrier cage: where it is, which shell cells it will fill and which blocks it has placed.
+ * The shell is split into one {@link Part} per chunk column, so each part's blocks are only read and
+ * written on the thread owning its chunk. Placed blocks are kept as packed coordinates
+ * (see {@link com.ancientcity.weapons.cage.BlockPos}) alongside one world ID for the whole cage.
+ *
+ * <p>The cage's own fields are set before it is published and not changed after, except for
+ * {@link #removed}, which any thread may read, and the expiry wheel links, which are guarded by the
+ * wheel's monitor.</p>
+ */
+class Cage {
+
+    // Null for a cage recovered from the journal, which is never active
+    final UUID owner;
+    final UUID worldId;
+    final int originX;
+    final int originY;
+    final int originZ;
+    final CageShape shape;
+    final int radius;
+    final Part[] parts;
+
+    // Set once, by whichever thread takes the cage out of the active map; stops placement
+    volatile boolean removed;
+    // Parts whose removal has not finished yet; the last one to finish tombstones the cage
+    final AtomicInteger partsToRemove = new AtomicInteger();
+
+    // Virtual cages never touch the world, only what nearby players are shown
+    final boolean virtual;
+
+    // Virtual cages only: parts that have not read their states yet, the players the cage has been
+    // sent to and, once every part is ready, all parts' fake barrier states. Once removed, the states
+    // to send viewers back; whoever takes a viewer out of the set sends them.
+    final AtomicInteger partsToPrepare = new AtomicInteger();
+    final Set<UUID> viewers = ConcurrentHashMap.newKeySet();
+    volatile List<BlockState> virtualStates;
+    volatile List<BlockState> revertStates;
+
+    // Handle in the crash journal and wall-clock expiry, in epoch milliseconds
+    long journalHandle;
+    long expiresAt;
+
+    // Links and due tick in the expiry wheel
+    Cage wheelPrev;
+    Cage wheelNext;
+    long expiryTick;
+    boolean scheduled;
+
+    Cage(UUID owner, UUID worldId, int originX, int originY, int originZ, CageShape shape, int radius, Part[] parts, boolean virtual) {
+        this.owner = owner;
+        this.worldId = worldId;
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.shape = shape;
+        this.radius = radius;
+        this.parts = parts;
+        this.virtual = virtual;
+    }
+
+    /**
+     * Copies the blocks placed by all parts so far.
+     *
+     * @return Packed block positions
+     */
+    long[] copyBlocks() {
+        long[] copy = new long[0];
+        for (Part part : parts) {
+            synchronized (part) {
+                int start = copy.length;
+                copy = Arrays.copyOf(copy, start + part.blockCount);
+                System.arraycopy(part.blocks, 0, copy, start, part.blockCount);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * The cells of a cage's shell that lie in one chunk column.
+     * Cells are only scanned and blocks only written on the thread owning the chunk;
+     * the placed block list is guarded by the part's monitor so other threads can read it.
+     */
+    static final class Part {
+
+        final int chunkX;
+        final int chunkZ;
+        // Packed shell offsets in this column, in shell order
+        final int[] cells;
+
+        // Blocks this part turned into barriers, or showed as barriers in a virtual cage, in placement order
+        long[] blocks;
+        int blockCount;
+
+        // Virtual cages only: the fake barriers and the states they hide
+        List<BlockState> virtualStates;
+        List<BlockState> realStates;
+
+        Part(int chunkX, int chunkZ, int[] cells) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.cells = cells;
+            // A part never places more blocks than it has cells
+            this.blocks = new long[cells.length];
+        }
+
+        /**
+         * Records one placed block. Call while holding this part's monitor.
+         *
+         * @param packedPos The packed block position
+         */
+        void addBlock(long packedPos) {
+            if (blockCount == blocks.length) {
+                blocks = Arrays.copyOf(blocks, Math.max(16, blockCount * 2));
+            }
+            blocks[blockCount++] = packedPos;
+        }
+
+        /**
+         * Records placed blocks. Call while holding this part's monitor.
+         *
+         * @param packedPositions The packed block positions
+         * @param count The number of positions to record
+         */
+        void addBlocks(long[] packedPositions, int count) {
+            if (blockCount + count > blocks.length) {
+                blocks = Arrays.copyOf(blocks, Math.max(16, Math.max(blockCount + count, blockCount * 2)));
+            }
+            System.arraycopy(packedPositions, 0, blocks, blockCount, count);
+            blockCount += count;
+        }
+    }
+}
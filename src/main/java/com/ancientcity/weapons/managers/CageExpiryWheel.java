@@ -0,0 +1,94 @@
+package com.ancientcity.weapons.managers;
+
+/**
+ * Hashed timing wheel of cage expiries, advanced once per tick by {@link BarrierCageManager}.
+ * Cages are linked into their slot intrusively, so scheduling and cancelling are O(1)
+ * and no scheduler object is created per cage.
+ *
+ * <p>Durations longer than the wheel simply stay in their slot for extra rotations.</p>
+ */
+class CageExpiryWheel {
+
+    // Power of two, about 25 seconds of ticks
+    private static final int SLOTS = 512;
+    private static final int MASK = SLOTS - 1;
+
+    private final Cage[] slots = new Cage[SLOTS];
+    private long tick;
+    private int size;
+
+    /**
+     * Schedules a cage to expire after the given number of ticks.
+     *
+     * @param cage The cage, which must not already be scheduled
+     * @param delayTicks Ticks until expiry
+     */
+    void schedule(Cage cage, long delayTicks) {
+        cage.expiryTick = tick + Math.max(1, delayTicks);
+        int slot = (int) (cage.expiryTick & MASK);
+        Cage head = slots[slot];
+        cage.wheelPrev = null;
+        cage.wheelNext = head;
+        if (head != null) {
+            head.wheelPrev = cage;
+        }
+        slots[slot] = cage;
+        cage.scheduled = true;
+        size++;
+    }
+
+    /**
+     * Removes a cage from the wheel. Does nothing if it is not scheduled.
+     *
+     * @param cage The cage
+     */
+    void cancel(Cage cage) {
+        if (!cage.scheduled) return;
+        unlink(cage);
+    }
+
+    /**
+     * Advances the wheel by one tick.
+     *
+     * @return The cages that expired this tick, chained through {@code wheelNext}, or null if none did
+     */
+    Cage advance() {
+        tick++;
+        Cage expired = null;
+        Cage cage = slots[(int) (tick & MASK)];
+        while (cage != null) {
+            Cage next = cage.wheelNext;
+            if (cage.expiryTick <= tick) {
+                unlink(cage);
+                cage.wheelNext = expired;
+                expired = cage;
+            }
+            cage = next;
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the number of scheduled cages.
+     *
+     * @return The cage count
+     */
+    int size() {
+        return size;
+    }
+
+    private void unlink(Cage cage) {
+        if (cage.wheelPrev != null) {
+            cage.wheelPrev.wheelNext = cage.wheelNext;
+        } else {
+            slots[(int) (cage.expiryTick & MASK)] = cage.wheelNext;
+        }
+        if (cage.wheelNext != null) {
+            cage.wheelNext.wheelPrev = cage.wheelPrev;
+        }
+        cage.wheelPrev = null;
+        cage.wheelNext = null;
+        cage.scheduled = false;
+        size--;
+    }
+}
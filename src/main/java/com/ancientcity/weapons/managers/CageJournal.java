@@ -0,0 +1,366 @@
+package com.ancientcity.weapons.managers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only, memory-mapped journal of barrier blocks placed by cages.
+ * Each cage writes an open record, one record per placed block and a tombstone once its
+ * blocks are gone. Writes land in the page cache and survive a killed server process
+ * without an fsync per block; the file is only forced on compaction and close.
+ *
+ * <p>On startup the journal is replayed and every cage without a tombstone is reported
+ * as an orphan whose barriers were left behind.</p>
+ */
+public class CageJournal {
+
+    private static final int MAGIC = 0x41435743; // "ACWC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int INITIAL_SIZE = 64 * 1024;
+
+    // A record's type byte is written last, so a torn record reads as the end of the log
+    private static final byte RECORD_END = 0;
+    private static final byte RECORD_OPEN = 1;
+    private static final byte RECORD_BLOCK = 2;
+    private static final byte RECORD_CLOSE = 3;
+
+    private static final int OPEN_SIZE = 1 + 8 + 16 + 8;
+    private static final int BLOCK_SIZE = 1 + 8 + 8;
+    private static final int CLOSE_SIZE = 1 + 8;
+
+    /**
+     * A cage found in the journal without a tombstone.
+     */
+    public static final class Orphan {
+
+        private final long handle;
+        private final UUID worldId;
+        private final long expiresAt;
+        private long[] blocks = new long[64];
+        private int blockCount;
+
+        private Orphan(long handle, UUID worldId, long expiresAt) {
+            this.handle = handle;
+            this.worldId = worldId;
+            this.expiresAt = expiresAt;
+        }
+
+        private void addBlock(long packedPos) {
+            if (blockCount == blocks.length) {
+                blocks = Arrays.copyOf(blocks, blockCount * 2);
+            }
+            blocks[blockCount++] = packedPos;
+        }
+
+        /**
+         * Gets the cage's journal handle, under which it can be kept in the journal until cleared.
+         *
+         * @return The journal handle
+         */
+        public long getHandle() {
+            return handle;
+        }
+
+        /**
+         * Gets the world the cage was placed in.
+         *
+         * @return The world UUID
+         */
+        public UUID getWorldId() {
+            return worldId;
+        }
+
+        /**
+         * Gets when the cage should have expired.
+         *
+         * @return Expiry in epoch milliseconds
+         */
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        /**
+         * Gets the packed positions of the barriers the cage placed.
+         *
+         * @return Packed block positions; only the first {@link #getBlockCount()} are valid
+         */
+        public long[] getBlocks() {
+            return blocks;
+        }
+
+        /**
+         * Gets the number of barriers the cage placed.
+         *
+         * @return The block count
+         */
+        public int getBlockCount() {
+            return blockCount;
+        }
+    }
+
+    private final Path path;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long nextHandle = 1;
+
+    public CageJournal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens the journal, replaying any existing contents.
+     *
+     * @return Cages that were never tombstoned, i.e. barriers left behind by a crash
+     * @throws IOException If the file cannot be opened or mapped
+     */
+    public List<Orphan> open() throws IOException {
+        Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(INITIAL_SIZE, channel.size()));
+
+        Map<Long, Orphan> open = new HashMap<>();
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+            buffer.position(HEADER_SIZE);
+            replay(open);
+        } else {
+            // New or unreadable journal: start over
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.position(HEADER_SIZE);
+            buffer.put(HEADER_SIZE, RECORD_END);
+        }
+        return new ArrayList<>(open.values());
+    }
+
+    private void replay(Map<Long, Orphan> open) {
+        while (buffer.remaining() > 0) {
+            int start = buffer.position();
+            byte type = buffer.get(start);
+            int size = switch (type) {
+                case RECORD_OPEN -> OPEN_SIZE;
+                case RECORD_BLOCK -> BLOCK_SIZE;
+                case RECORD_CLOSE -> CLOSE_SIZE;
+                default -> -1;
+            };
+            if (size < 0 || buffer.remaining() < size) {
+                break;
+            }
+
+            long handle = buffer.getLong(start + 1);
+            nextHandle = Math.max(nextHandle, handle + 1);
+            switch (type) {
+                case RECORD_OPEN -> open.put(handle, new Orphan(handle,
+                        new UUID(buffer.getLong(start + 9), buffer.getLong(start + 17)), buffer.getLong(start + 25)));
+                case RECORD_BLOCK -> {
+                    Orphan orphan = open.get(handle);
+                    if (orphan != null) {
+                        orphan.addBlock(buffer.getLong(start + 9));
+                    }
+                }
+                default -> open.remove(handle);
+            }
+            buffer.position(start + size);
+        }
+    }
+
+    /**
+     * Records a new cage.
+     *
+     * @param worldId The world the cage is in
+     * @param expiresAt When the cage expires, in epoch milliseconds
+     * @return The cage's journal handle
+     */
+    public long openCage(UUID worldId, long expiresAt) {
+        long handle = nextHandle++;
+        ensureCapacity(OPEN_SIZE);
+        writeOpen(buffer, handle, worldId, expiresAt);
+        return handle;
+    }
+
+    /**
+     * Records barriers placed by a cage.
+     *
+     * @param handle The cage's journal handle
+     * @param packedPositions The packed block positions
+     * @param count The number of positions to record
+     */
+    public void recordBlocks(long handle, long[] packedPositions, int count) {
+        ensureCapacity((long) count * BLOCK_SIZE);
+        for (int i = 0; i < count; i++) {
+            writeBlock(buffer, handle, packedPositions[i]);
+        }
+    }
+
+    /**
+     * Writes a tombstone once all of a cage's barriers are gone.
+     *
+     * @param handle The cage's journal handle
+     */
+    public void closeCage(long handle) {
+        ensureCapacity(CLOSE_SIZE);
+        int start = buffer.position();
+        buffer.putLong(start + 1, handle);
+        buffer.put(start + CLOSE_SIZE, RECORD_END);
+        buffer.put(start, RECORD_CLOSE);
+        buffer.position(start + CLOSE_SIZE);
+    }
+
+    /**
+     * Gets the number of bytes written to the journal.
+     *
+     * @return The journal length
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * Rewrites the journal with only the given live cages and replaces the file.
+     * The new image is written without mapping it, and the old mapping is dropped before the
+     * move. Where the platform refuses to replace a file that is still mapped (Windows keeps a
+     * mapping until it is garbage collected), the image is copied over the journal in place instead.
+     *
+     * @param liveCages Cages whose barriers are still in the world
+     * @throws IOException If the new journal cannot be written
+     */
+    void compact(Collection<Cage> liveCages) throws IOException {
+        // Cages may still be placing on other threads; work from a copy of each one's blocks
+        List<long[]> liveBlocks = new ArrayList<>(liveCages.size());
+        long needed = HEADER_SIZE + 1;
+        for (Cage cage : liveCages) {
+            long[] blocks = cage.copyBlocks();
+            liveBlocks.add(blocks);
+            needed += OPEN_SIZE + (long) blocks.length * BLOCK_SIZE;
+        }
+        int capacity = (int) Math.max(INITIAL_SIZE, needed * 2);
+
+        ByteBuffer image = ByteBuffer.allocate((int) needed);
+        image.putInt(0, MAGIC);
+        image.putInt(4, VERSION);
+        image.position(HEADER_SIZE);
+        image.put(HEADER_SIZE, RECORD_END);
+        int index = 0;
+        for (Cage cage : liveCages) {
+            writeOpen(image, cage.journalHandle, cage.worldId, cage.expiresAt);
+            for (long pos : liveBlocks.get(index++)) {
+                writeBlock(image, cage.journalHandle, pos);
+            }
+        }
+        int end = image.position();
+        image.limit(end + 1).position(0);
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            writeFully(tempChannel, image);
+            tempChannel.force(true);
+        }
+
+        buffer.force();
+        buffer = null;
+        channel.close();
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            image.position(0);
+            writeFully(channel, image);
+            channel.force(true);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.position(end);
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer source) throws IOException {
+        long offset = 0;
+        while (source.hasRemaining()) {
+            offset += target.write(source, offset);
+        }
+    }
+
+    /**
+     * Checks whether the journal can still be written, i.e. it was opened and no compaction
+     * failed after letting go of the old file.
+     *
+     * @return true if records can be appended
+     */
+    public boolean isWritable() {
+        return buffer != null;
+    }
+
+    /**
+     * Forces outstanding writes to disk and closes the file.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    public void close() throws IOException {
+        if (channel != null) {
+            if (buffer != null) {
+                buffer.force();
+                buffer = null;
+            }
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void ensureCapacity(long recordSize) {
+        // Keep room for the records and the end marker that follows them
+        int position = buffer.position();
+        long needed = position + recordSize + 1;
+        if (needed <= buffer.capacity()) {
+            return;
+        }
+        long capacity = buffer.capacity();
+        while (capacity < needed) {
+            capacity *= 2;
+        }
+        // A mapped buffer is indexed by int
+        if (needed > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Cage journal " + path + " cannot grow past 2 GB");
+        }
+        capacity = Math.min(capacity, Integer.MAX_VALUE);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not grow cage journal " + path, e);
+        }
+        buffer.position(position);
+    }
+
+    private static void writeOpen(ByteBuffer target, long handle, UUID worldId, long expiresAt) {
+        int start = target.position();
+        target.putLong(start + 1, handle);
+        target.putLong(start + 9, worldId.getMostSignificantBits());
+        target.putLong(start + 17, worldId.getLeastSignificantBits());
+        target.putLong(start + 25, expiresAt);
+        target.put(start + OPEN_SIZE, RECORD_END);
+        target.put(start, RECORD_OPEN);
+        target.position(start + OPEN_SIZE);
+    }
+
+    private static void writeBlock(ByteBuffer target, long handle, long packedPos) {
+        int start = target.position();
+        target.putLong(start + 1, handle);
+        target.putLong(start + 9, packedPos);
+        target.put(start + BLOCK_SIZE, RECORD_END);
+        target.put(start, RECORD_BLOCK);
+        target.position(start + BLOCK_SIZE);
+    }
+}
@@ -0,0 +1,239 @@
+package com.ancientcity.weapons.managers;
+
+import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.ability.Ability;
+import com.ancientcity.weapons.ability.AbilityRegistry;
+import com.ancientcity.weapons.scheduler.ScheduledTask;
+import com.ancientcity.weapons.util.SecondComponentCache;
+import com.ancientcity.weapons.util.TimeFormat;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Live action-bar countdown for players with abilities on cooldown.
+ * One global task polls a queue ordered by when each player's shown second next changes,
+ * so a tick only touches players whose countdown moved: the cost follows the number of
+ * active cooldowns, not the number of players online. Countdown components are built once per
+ * ability and second value, and only combined when several abilities count down at once.
+ *
+ * <p>Remaining time is always read back from the {@link CooldownManager}, which stays the
+ * only record of cooldowns. Abilities are used on their players' region threads, so the queue
+ * is guarded by this object's monitor; action bars are sent on each player's own thread.</p>
+ */
+public class CooldownDisplay {
+
+    private static final BaseComponent SEPARATOR = TextComponent.fromLegacy(ChatColor.DARK_GRAY + "  |  ");
+
+    private final AncientCityWeapons plugin;
+    private final CooldownManager cooldowns;
+    private final SecondComponentCache[] countdowns;
+    private final BaseComponent[] readyMessages;
+
+    private final Map<UUID, Viewer> viewers = new HashMap<>();
+    private final PriorityQueue<Update> queue = new PriorityQueue<>();
+    // Action bars collected under the lock and sent after it is released; global task only
+    private final List<Player> sendTo = new ArrayList<>();
+    private final List<BaseComponent> sendText = new ArrayList<>();
+    // Parts of the action bar being built by refresh; global task only
+    private final List<BaseComponent> parts = new ArrayList<>();
+    private ScheduledTask task;
+
+    public CooldownDisplay(AncientCityWeapons plugin) {
+        this.plugin = plugin;
+        this.cooldowns = plugin.getCooldownManager();
+        AbilityRegistry abilities = plugin.getAbilityRegistry();
+        this.countdowns = new SecondComponentCache[abilities.size()];
+        this.readyMessages = new BaseComponent[abilities.size()];
+        for (int slot = 0; slot < abilities.size(); slot++) {
+            Ability ability = abilities.get(slot);
+            String prefix = ChatColor.DARK_AQUA + ability.getIcon() + " " + ability.getDisplayName() + ": " + ChatColor.GRAY;
+            countdowns[slot] = new SecondComponentCache(seconds -> prefix + TimeFormat.format(seconds));
+            readyMessages[slot] = TextComponent.fromLegacy(ChatColor.GREEN + ability.getIcon() + " " + ability.getDisplayName() + " ready");
+        }
+    }
+
+    /**
+     * Starts the countdown task.
+     */
+    public void start() {
+        task = plugin.getTaskScheduler().runGlobalTimer(this::tick, 1L, 1L);
+    }
+
+    /**
+     * Stops the countdown task and forgets every tracked player.
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        synchronized (this) {
+            viewers.clear();
+            queue.clear();
+        }
+    }
+
+    /**
+     * Shows a player the countdown of an ability that just started cooling down.
+     * The countdown is refreshed each time its shown second changes and ends with a ready message.
+     *
+     * @param player The player
+     * @param slot The ability slot
+     */
+    public synchronized void track(Player player, int slot) {
+        UUID playerUuid = player.getUniqueId();
+        Viewer viewer = viewers.get(playerUuid);
+        if (viewer == null) {
+            viewer = new Viewer(playerUuid, countdowns.length);
+            viewers.put(playerUuid, viewer);
+        }
+        viewer.slots[slot] = true;
+        // Show the new countdown on the next tick; any update already queued for the player goes stale
+        schedule(viewer, cooldowns.now());
+    }
+
+    /**
+     * Gets the number of players currently shown a countdown.
+     *
+     * @return The viewer count
+     */
+    public synchronized int getViewerCount() {
+        return viewers.size();
+    }
+
+    /**
+     * Refreshes the players whose shown second has changed since their last update.
+     */
+    private void tick() {
+        long now = cooldowns.now();
+        boolean enabled = plugin.getWeaponsConfig().isCooldownActionBar();
+        synchronized (this) {
+            if (!enabled) {
+                // Turned off by a reload: drop the countdowns in progress
+                if (!viewers.isEmpty()) {
+                    viewers.clear();
+                    queue.clear();
+                }
+                return;
+            }
+            Update next;
+            while ((next = queue.peek()) != null && next.due() <= now) {
+                queue.poll();
+                if (next.version() == next.viewer().version) {
+                    refresh(next.viewer(), now);
+                }
+            }
+        }
+
+        for (int i = 0; i < sendTo.size(); i++) {
+            Player player = sendTo.get(i);
+            BaseComponent message = sendText.get(i);
+            plugin.getTaskScheduler().executeAt(player, () ->
+                    player.spigot().sendMessage(ChatMessageType.ACTION_BAR, message));
+        }
+        sendTo.clear();
+        sendText.clear();
+    }
+
+    /**
+     * Builds a viewer's action bar from the cooldowns still running and queues their next update.
+     * Abilities that finished since the last update are shown as ready once.
+     */
+    private void refresh(Viewer viewer, long now) {
+        UUID playerUuid = viewer.playerUuid;
+        Player player = Bukkit.getPlayer(playerUuid);
+        if (player == null) {
+            viewers.remove(playerUuid);
+            return;
+        }
+
+        long unitsPerSecond = cooldowns.unitsPerSecond();
+        long nextDue = Long.MAX_VALUE;
+        for (int slot = 0; slot < viewer.slots.length; slot++) {
+            if (!viewer.slots[slot]) continue;
+
+            long remaining = cooldowns.expiry(playerUuid, slot) - now;
+            if (remaining <= 0) {
+                viewer.slots[slot] = false;
+                parts.add(readyMessages[slot]);
+                continue;
+            }
+            int seconds = (int) ((remaining + unitsPerSecond - 1) / unitsPerSecond);
+            // The shown value drops once only seconds - 1 whole seconds remain
+            nextDue = Math.min(nextDue, now + remaining - (seconds - 1) * unitsPerSecond);
+            parts.add(countdowns[slot].get(seconds));
+        }
+
+        if (nextDue == Long.MAX_VALUE) {
+            viewers.remove(playerUuid);
+        } else {
+            schedule(viewer, nextDue);
+        }
+        if (!parts.isEmpty()) {
+            sendTo.add(player);
+            sendText.add(join(parts));
+            parts.clear();
+        }
+    }
+
+    private void schedule(Viewer viewer, long due) {
+        viewer.version++;
+        queue.add(new Update(due, viewer.version, viewer));
+    }
+
+    /**
+     * Joins action-bar parts with separators. A single part is sent as the cached component itself.
+     */
+    private static BaseComponent join(List<BaseComponent> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        TextComponent message = new TextComponent();
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                message.addExtra(SEPARATOR);
+            }
+            message.addExtra(parts.get(i));
+        }
+        return message;
+    }
+
+    /**
+     * A player being shown a countdown, and which abilities it covers.
+     */
+    private static final class Viewer {
+
+        // Players are looked up again on each refresh rather than held across their sessions
+        final UUID playerUuid;
+        final boolean[] slots;
+        // Bumped on every reschedule; queued updates with an older version are skipped
+        int version;
+
+        Viewer(UUID playerUuid, int abilityCount) {
+            this.playerUuid = playerUuid;
+            this.slots = new boolean[abilityCount];
+        }
+    }
+
+    /**
+     * A queued refresh of one viewer, ordered by when it is due on the cooldown clock.
+     */
+    private record Update(long due, int version, Viewer viewer) implements Comparable<Update> {
+
+        @Override
+        public int compareTo(Update other) {
+            return Long.compare(due, other.due);
+        }
+    }
+}
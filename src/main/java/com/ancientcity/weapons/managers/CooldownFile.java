@@ -0,0 +1,136 @@
+package com.ancientcity.weapons.managers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Binary file of saved cooldowns.
+ * Expiries are stored as epoch milliseconds, one row per player, with the slot columns named
+ * by weapon item ID so slots can be added or reordered between versions.
+ *
+ * <p>Layout: magic, version, slot count, slot IDs, player count, then per player the two UUID
+ * halves followed by one expiry per slot (0 for none).</p>
+ */
+public final class CooldownFile {
+
+    private static final int MAGIC = 0x41435744; // "ACWD"
+    private static final int VERSION = 1;
+
+    private CooldownFile() {
+    }
+
+    /**
+     * Writes cooldowns to a temporary file and atomically moves it over the target.
+     *
+     * @param path The target file
+     * @param slotIds The item ID for each slot
+     * @param keys UUID halves, two per player
+     * @param expiries Expiries in epoch milliseconds, one per slot per player
+     * @param count The number of players
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path path, String[] slotIds, long[] keys, long[] expiries, int count) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(slotIds.length);
+            for (String slotId : slotIds) {
+                out.writeUTF(slotId);
+            }
+            out.writeInt(count);
+            for (int player = 0; player < count; player++) {
+                out.writeLong(keys[player * 2]);
+                out.writeLong(keys[player * 2 + 1]);
+                for (int slot = 0; slot < slotIds.length; slot++) {
+                    out.writeLong(expiries[player * slotIds.length + slot]);
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads saved cooldowns into a store.
+     * Slots whose ID is no longer known are skipped, as are expiries the converter maps to 0.
+     *
+     * @param path The file to read
+     * @param slotIds The item ID for each slot of the store
+     * @param store The store to fill
+     * @param fromEpochMillis Converts a saved expiry to the store's clock, or to 0 if it has passed
+     * @return The number of players loaded, or 0 if the file does not exist
+     * @throws IOException If the file cannot be read or is not a cooldown file
+     */
+    public static int read(Path path, String[] slotIds, CooldownStore store, LongUnaryOperator fromEpochMillis) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not a cooldown file: " + path);
+            }
+
+            // Map the file's slot columns onto the current slots
+            int fileSlots = in.getInt();
+            // Each slot ID takes at least its two length bytes
+            if (fileSlots < 0 || (long) fileSlots * 2 > in.remaining()) {
+                throw new IOException("Corrupt cooldown file: " + path);
+            }
+            int[] slotMap = new int[fileSlots];
+            for (int column = 0; column < fileSlots; column++) {
+                byte[] id = new byte[in.getShort() & 0xFFFF];
+                in.get(id);
+                slotMap[column] = indexOf(slotIds, new String(id, StandardCharsets.UTF_8));
+            }
+
+            int count = in.getInt();
+            // Checked before sizing the store, so a bad count cannot allocate more than the file holds
+            long rowSize = 16 + 8L * fileSlots;
+            if (count < 0 || count * rowSize > in.remaining()) {
+                throw new IOException("Corrupt cooldown file: " + path);
+            }
+            store.ensureCapacity(store.size() + count);
+            int loaded = 0;
+            for (int player = 0; player < count; player++) {
+                long most = in.getLong();
+                long least = in.getLong();
+                boolean any = false;
+                for (int column = 0; column < fileSlots; column++) {
+                    long expiry = in.getLong();
+                    if (slotMap[column] < 0 || expiry == 0) continue;
+                    long converted = fromEpochMillis.applyAsLong(expiry);
+                    if (converted != 0) {
+                        store.setExpiry(most, least, slotMap[column], converted);
+                        any = true;
+                    }
+                }
+                if (any) {
+                    loaded++;
+                }
+            }
+            return loaded;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated cooldown file: " + path, e);
+        }
+    }
+
+    private static int indexOf(String[] slotIds, String id) {
+        for (int slot = 0; slot < slotIds.length; slot++) {
+            if (slotIds[slot].equals(id)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+}
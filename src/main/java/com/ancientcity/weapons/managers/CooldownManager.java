@@ -1,160 +1,299 @@
 package com.ancientcity.weapons.managers;
 
 import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.ability.AbilityRegistry;
+import com.ancientcity.weapons.scheduler.ScheduledTask;
+import com.ancientcity.weapons.scheduler.TaskScheduler;
+import com.ancientcity.weapons.util.TimeFormat;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Manages cooldowns for Ancient City weapon abilities.
- * Uses player UUIDs to track cooldown expiration times.
+ * Uses player UUIDs and ability slots from the {@link AbilityRegistry} to track cooldown expiration times.
+ * When persistence is enabled, changes are coalesced and periodically written to
+ * {@value #SAVE_FILE} off the tick threads, and the file is loaded back on enable.
+ * Abilities are used on their players' region threads, so the store is locked around every access.
  */
 public class CooldownManager {
 
-    // Default cooldown times in seconds (can be overridden by config)
-    public static final int DEFAULT_WARDEN_BEAM_COOLDOWN = 90; // 1 minute 30 seconds
-    public static final int DEFAULT_BARRIER_CAGE_COOLDOWN = 60; // 1 minute
+    public static final String SAVE_FILE = "cooldowns.dat";
 
     private final AncientCityWeapons plugin;
 
-    // Maps to store cooldown expiration times (in milliseconds)
-    private final Map<UUID, Long> wardenBeamCooldowns;
-    private final Map<UUID, Long> barrierCageCooldowns;
+    // Cooldown expiration times, in milliseconds or server ticks depending on the clock
+    private final CooldownStore cooldowns;
+    private final boolean tickClock;
+    // Advanced by the global clock task, read from every region thread
+    private volatile long currentTick;
+
+    private ScheduledTask clockTask;
+    private ScheduledTask sweepTask;
+    private ScheduledTask saveTask;
+
+    // Persistence: slot columns, pending changes and the write in flight
+    private final Path saveFile;
+    private final String[] slotIds;
+    private boolean persist;
+    private volatile boolean dirty;
+    private final AtomicBoolean saving = new AtomicBoolean();
+    private final Object saveLock = new Object();
 
     public CooldownManager(AncientCityWeapons plugin) {
         this.plugin = plugin;
-        this.wardenBeamCooldowns = new HashMap<>();
-        this.barrierCageCooldowns = new HashMap<>();
+        AbilityRegistry abilities = plugin.getAbilityRegistry();
+        this.cooldowns = new CooldownStore(abilities.size());
+        this.tickClock = plugin.getWeaponsConfig().isTickClock();
+        this.saveFile = plugin.getDataFolder().toPath().resolve(SAVE_FILE);
+        this.slotIds = abilities.getIds();
     }
 
     /**
-     * Gets the Warden Beam cooldown time in seconds from config.
-     *
-     * @return Cooldown time in seconds
+     * Loads saved cooldowns (if enabled), then starts the tick clock (if enabled),
+     * the periodic sweep of expired cooldowns and the periodic save.
      */
-    public int getWardenBeamCooldown() {
-        return plugin.getConfig().getInt("cooldowns.warden-beam", DEFAULT_WARDEN_BEAM_COOLDOWN);
+    public void start() {
+        persist = plugin.getWeaponsConfig().isPersistCooldowns();
+        if (persist) {
+            load();
+        }
+
+        TaskScheduler scheduler = plugin.getTaskScheduler();
+        if (tickClock) {
+            clockTask = scheduler.runGlobalTimer(() -> currentTick++, 1L, 1L);
+        }
+
+        long sweepInterval = plugin.getWeaponsConfig().getSweepInterval() * 20L;
+        sweepTask = scheduler.runGlobalTimer(() -> {
+            synchronized (cooldowns) {
+                cooldowns.sweep(now());
+            }
+        }, sweepInterval, sweepInterval);
+
+        if (persist) {
+            long saveInterval = plugin.getWeaponsConfig().getCooldownSaveInterval() * 20L;
+            saveTask = scheduler.runGlobalTimer(this::saveAsync, saveInterval, saveInterval);
+        }
     }
 
     /**
-     * Gets the Barrier Cage cooldown time in seconds from config.
-     *
-     * @return Cooldown time in seconds
+     * Stops the scheduled cooldown tasks and writes the final state to disk.
      */
-    public int getBarrierCageCooldown() {
-        return plugin.getConfig().getInt("cooldowns.barrier-cage", DEFAULT_BARRIER_CAGE_COOLDOWN);
+    public void shutdown() {
+        if (saveTask != null) {
+            saveTask.cancel();
+            saveTask = null;
+        }
+        if (persist) {
+            // Waits for any write still in flight, since both hold the save lock
+            Snapshot snapshot = snapshot(now());
+            write(snapshot);
+        }
+        if (clockTask != null) {
+            clockTask.cancel();
+            clockTask = null;
+        }
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
     }
 
     /**
-     * Checks if a player is on cooldown for the Warden Beam.
+     * Checks if a player is on cooldown for an ability.
      *
      * @param playerUuid The player's UUID
+     * @param slot The ability slot
      * @return true if on cooldown, false otherwise
      */
-    public boolean isOnWardenBeamCooldown(UUID playerUuid) {
-        if (!wardenBeamCooldowns.containsKey(playerUuid)) {
-            return false;
-        }
-        return System.currentTimeMillis() < wardenBeamCooldowns.get(playerUuid);
+    public boolean isOnCooldown(UUID playerUuid, int slot) {
+        return now() < expiry(playerUuid, slot);
     }
 
     /**
-     * Gets the remaining cooldown time for the Warden Beam in seconds.
+     * Gets the remaining cooldown time for an ability in seconds.
      *
      * @param playerUuid The player's UUID
+     * @param slot The ability slot
      * @return Remaining time in seconds, or 0 if not on cooldown
      */
-    public int getWardenBeamRemainingTime(UUID playerUuid) {
-        if (!isOnWardenBeamCooldown(playerUuid)) {
+    public int getRemainingTime(UUID playerUuid, int slot) {
+        long remaining = expiry(playerUuid, slot) - now();
+        if (remaining <= 0) {
             return 0;
         }
-        long remaining = wardenBeamCooldowns.get(playerUuid) - System.currentTimeMillis();
-        return (int) Math.ceil(remaining / 1000.0);
+        long unitsPerSecond = unitsPerSecond();
+        return (int) ((remaining + unitsPerSecond - 1) / unitsPerSecond);
     }
 
     /**
-     * Sets the Warden Beam cooldown for a player.
+     * Starts an ability's cooldown for a player.
      *
      * @param playerUuid The player's UUID
+     * @param slot The ability slot
+     * @param seconds The cooldown length in seconds
      */
-    public void setWardenBeamCooldown(UUID playerUuid) {
-        long expirationTime = System.currentTimeMillis() + (getWardenBeamCooldown() * 1000L);
-        wardenBeamCooldowns.put(playerUuid, expirationTime);
+    public void setCooldown(UUID playerUuid, int slot, int seconds) {
+        long expiry = now() + seconds * unitsPerSecond();
+        synchronized (cooldowns) {
+            cooldowns.setExpiry(playerUuid, slot, expiry);
+        }
+        dirty = true;
     }
 
     /**
-     * Checks if a player is on cooldown for the Barrier Cage.
+     * Formats remaining time into a human-readable string.
      *
-     * @param playerUuid The player's UUID
-     * @return true if on cooldown, false otherwise
+     * @param seconds The remaining time in seconds
+     * @return Formatted time string (e.g., "1 minute 30 seconds")
      */
-    public boolean isOnBarrierCageCooldown(UUID playerUuid) {
-        if (!barrierCageCooldowns.containsKey(playerUuid)) {
-            return false;
-        }
-        return System.currentTimeMillis() < barrierCageCooldowns.get(playerUuid);
+    public String formatTime(int seconds) {
+        return TimeFormat.format(seconds);
     }
 
     /**
-     * Gets the remaining cooldown time for the Barrier Cage in seconds.
+     * Clears a player's cooldowns.
      *
      * @param playerUuid The player's UUID
-     * @return Remaining time in seconds, or 0 if not on cooldown
      */
-    public int getBarrierCageRemainingTime(UUID playerUuid) {
-        if (!isOnBarrierCageCooldown(playerUuid)) {
-            return 0;
+    public void clearCooldowns(UUID playerUuid) {
+        synchronized (cooldowns) {
+            if (cooldowns.remove(playerUuid)) {
+                dirty = true;
+            }
         }
-        long remaining = barrierCageCooldowns.get(playerUuid) - System.currentTimeMillis();
-        return (int) Math.ceil(remaining / 1000.0);
     }
 
     /**
-     * Sets the Barrier Cage cooldown for a player.
+     * Gets the number of players currently tracked by the cooldown store.
      *
-     * @param playerUuid The player's UUID
+     * @return The tracked player count
      */
-    public void setBarrierCageCooldown(UUID playerUuid) {
-        long expirationTime = System.currentTimeMillis() + (getBarrierCageCooldown() * 1000L);
-        barrierCageCooldowns.put(playerUuid, expirationTime);
+    public int getTrackedPlayerCount() {
+        synchronized (cooldowns) {
+            return cooldowns.size();
+        }
     }
 
     /**
-     * Formats remaining time into a human-readable string.
+     * Gets when a player's ability cooldown ends, on the cooldown clock.
      *
-     * @param seconds The remaining time in seconds
-     * @return Formatted time string (e.g., "1 minute 30 seconds")
+     * @return The expiry, or 0 if the ability is not cooling down
      */
-    public String formatTime(int seconds) {
-        if (seconds <= 0) {
-            return "0 seconds";
+    long expiry(UUID playerUuid, int slot) {
+        synchronized (cooldowns) {
+            return cooldowns.getExpiry(playerUuid, slot);
         }
+    }
 
-        int minutes = seconds / 60;
-        int remainingSeconds = seconds % 60;
+    /**
+     * Reads the save file into the store in one pass.
+     */
+    private void load() {
+        long start = System.nanoTime();
+        long nowMillis = System.currentTimeMillis();
+        long nowClock = now();
+        try {
+            int loaded = CooldownFile.read(saveFile, slotIds, cooldowns, expiry -> fromEpochMillis(expiry, nowMillis, nowClock));
+            if (loaded > 0) {
+                plugin.getLogger().info("Loaded cooldowns for " + loaded + " players in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not load saved cooldowns: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the unexpired cooldowns on the global thread and writes them on an async thread.
+     * Skipped while nothing has changed or the previous write is still running,
+     * so any number of changes between saves cost one write.
+     */
+    private void saveAsync() {
+        if (!dirty || !saving.compareAndSet(false, true)) {
+            return;
+        }
+        dirty = false;
+
+        Snapshot snapshot = snapshot(now());
+        plugin.getTaskScheduler().runAsync(() -> {
+            try {
+                write(snapshot);
+            } finally {
+                saving.set(false);
+            }
+        });
+    }
+
+    /**
+     * Unexpired cooldowns copied out of the store for writing.
+     */
+    private record Snapshot(long[] keys, long[] expiries, int count) {
+    }
+
+    /**
+     * Copies the unexpired cooldowns, converting expiries to epoch milliseconds.
+     *
+     * @return The copied cooldowns
+     */
+    private Snapshot snapshot(long nowClock) {
+        long[] keys;
+        long[] expiries;
+        int count;
+        synchronized (cooldowns) {
+            keys = new long[cooldowns.size() * 2];
+            expiries = new long[cooldowns.size() * slotIds.length];
+            count = cooldowns.copyLive(nowClock, keys, expiries);
+        }
+        long nowMillis = System.currentTimeMillis();
+        for (int i = 0; i < count * slotIds.length; i++) {
+            long remaining = expiries[i] - nowClock;
+            expiries[i] = remaining <= 0 ? 0L : nowMillis + remaining * 1000L / unitsPerSecond();
+        }
+        return new Snapshot(keys, expiries, count);
+    }
 
-        StringBuilder sb = new StringBuilder();
-        if (minutes > 0) {
-            sb.append(minutes).append(minutes == 1 ? " minute" : " minutes");
-            if (remainingSeconds > 0) {
-                sb.append(" ");
+    private void write(Snapshot snapshot) {
+        synchronized (saveLock) {
+            try {
+                CooldownFile.write(saveFile, slotIds, snapshot.keys(), snapshot.expiries(), snapshot.count());
+            } catch (IOException e) {
+                dirty = true;
+                plugin.getLogger().warning("Could not save cooldowns: " + e.getMessage());
             }
         }
-        if (remainingSeconds > 0) {
-            sb.append(remainingSeconds).append(remainingSeconds == 1 ? " second" : " seconds");
+    }
+
+    /**
+     * Converts a saved expiry back to the cooldown clock.
+     *
+     * @return The expiry on the cooldown clock, or 0 if it has passed
+     */
+    private long fromEpochMillis(long epochMillis, long nowMillis, long nowClock) {
+        long remaining = epochMillis - nowMillis;
+        if (remaining <= 0) {
+            return 0L;
         }
+        return nowClock + (remaining * unitsPerSecond() + 999) / 1000;
+    }
 
-        return sb.toString();
+    /**
+     * Gets the current time on the configured cooldown clock.
+     *
+     * @return Milliseconds since the epoch, or server ticks since enable
+     */
+    long now() {
+        return tickClock ? currentTick : System.currentTimeMillis();
     }
 
     /**
-     * Clears a player's cooldowns (useful when player leaves).
+     * Gets how many cooldown clock units make up one second.
      *
-     * @param playerUuid The player's UUID
+     * @return 1000 for the millisecond clock, 20 for the tick clock
      */
-    public void clearCooldowns(UUID playerUuid) {
-        wardenBeamCooldowns.remove(playerUuid);
-        barrierCageCooldowns.remove(playerUuid);
+    long unitsPerSecond() {
+        return tickClock ? 20L : 1000L;
     }
 }
@@ -0,0 +1,263 @@
+package com.ancientcity.weapons.managers;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Primitive-backed table of cooldown expiry times keyed by player and ability slot.
+ * Uses open addressing with linear probing, so reads and writes never box values
+ * or allocate entry objects. Entries whose slots have all expired are evicted by {@link #sweep(long)}.
+ * Not thread-safe; owners shared between region threads lock the store around each access.
+ */
+public class CooldownStore {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final int slots;
+
+    // Player UUID halves, occupancy flags and expiry times (capacity * slots)
+    private long[] keyMost;
+    private long[] keyLeast;
+    private boolean[] occupied;
+    private long[] expiries;
+    private int mask;
+    private int size;
+
+    public CooldownStore(int slots) {
+        this(slots, MIN_CAPACITY);
+    }
+
+    public CooldownStore(int slots, int initialCapacity) {
+        if (slots <= 0) {
+            throw new IllegalArgumentException("slots must be positive");
+        }
+        this.slots = slots;
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Gets the expiry time stored for a player and ability slot.
+     *
+     * @param playerUuid The player's UUID
+     * @param slot The ability slot
+     * @return The expiry time, or 0 if none is stored
+     */
+    public long getExpiry(UUID playerUuid, int slot) {
+        int index = indexOf(playerUuid.getMostSignificantBits(), playerUuid.getLeastSignificantBits());
+        return index < 0 ? 0L : expiries[index * slots + slot];
+    }
+
+    /**
+     * Stores the expiry time for a player and ability slot.
+     *
+     * @param playerUuid The player's UUID
+     * @param slot The ability slot
+     * @param expiry The expiry time
+     */
+    public void setExpiry(UUID playerUuid, int slot, long expiry) {
+        setExpiry(playerUuid.getMostSignificantBits(), playerUuid.getLeastSignificantBits(), slot, expiry);
+    }
+
+    /**
+     * Stores the expiry time for a player, given as UUID halves, and ability slot.
+     *
+     * @param most The most significant bits of the player's UUID
+     * @param least The least significant bits of the player's UUID
+     * @param slot The ability slot
+     * @param expiry The expiry time
+     */
+    public void setExpiry(long most, long least, int slot, long expiry) {
+        int index = indexOf(most, least);
+        if (index < 0) {
+            if ((size + 1) * 2 > occupied.length) {
+                rehash(occupied.length * 2);
+            }
+            index = insert(most, least);
+        }
+        expiries[index * slots + slot] = expiry;
+    }
+
+    /**
+     * Removes every slot stored for a player.
+     *
+     * @param playerUuid The player's UUID
+     * @return true if the player had an entry
+     */
+    public boolean remove(UUID playerUuid) {
+        int index = indexOf(playerUuid.getMostSignificantBits(), playerUuid.getLeastSignificantBits());
+        if (index < 0) {
+            return false;
+        }
+        delete(index);
+        return true;
+    }
+
+    /**
+     * Evicts every player whose slots have all expired.
+     *
+     * @param now The current time, in the same unit as the stored expiries
+     * @return The number of evicted players
+     */
+    public int sweep(long now) {
+        int evicted = 0;
+        int index = 0;
+        while (index < occupied.length) {
+            if (occupied[index] && isExpired(index, now)) {
+                // Backward-shift deletion may move a later entry into this slot, so re-check it
+                delete(index);
+                evicted++;
+            } else {
+                index++;
+            }
+        }
+
+        // Give memory back after a busy period
+        if (occupied.length > MIN_CAPACITY && size * 8 < occupied.length) {
+            rehash(tableSizeFor(size * 2));
+        }
+        return evicted;
+    }
+
+    /**
+     * Copies every player with at least one unexpired slot into the given arrays.
+     * Size them from {@link #size()}: {@code keys} holds two longs per player (UUID halves)
+     * and {@code expiries} holds one long per slot.
+     *
+     * @param now The current time, in the same unit as the stored expiries
+     * @param keys Receives the UUID halves, most significant first
+     * @param expiries Receives the slot expiries
+     * @return The number of players copied
+     */
+    public int copyLive(long now, long[] keys, long[] expiries) {
+        int count = 0;
+        for (int index = 0; index < occupied.length; index++) {
+            if (occupied[index] && !isExpired(index, now)) {
+                keys[count * 2] = keyMost[index];
+                keys[count * 2 + 1] = keyLeast[index];
+                System.arraycopy(this.expiries, index * slots, expiries, count * slots, slots);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Grows the table so the given number of players fit without further rehashing.
+     *
+     * @param players The expected player count
+     */
+    public void ensureCapacity(int players) {
+        int capacity = tableSizeFor(players * 2);
+        if (capacity > occupied.length) {
+            rehash(capacity);
+        }
+    }
+
+    /**
+     * Gets the number of players with a stored entry.
+     *
+     * @return The entry count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        allocate(MIN_CAPACITY);
+    }
+
+    private boolean isExpired(int index, long now) {
+        int base = index * slots;
+        for (int slot = 0; slot < slots; slot++) {
+            if (expiries[base + slot] > now) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(long most, long least) {
+        int index = home(most, least);
+        while (occupied[index]) {
+            if (keyMost[index] == most && keyLeast[index] == least) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int insert(long most, long least) {
+        int index = home(most, least);
+        while (occupied[index]) {
+            index = (index + 1) & mask;
+        }
+        occupied[index] = true;
+        keyMost[index] = most;
+        keyLeast[index] = least;
+        size++;
+        return index;
+    }
+
+    private void delete(int index) {
+        int gap = index;
+        int next = (index + 1) & mask;
+        while (occupied[next]) {
+            int home = home(keyMost[next], keyLeast[next]);
+            // Move the entry back if its home slot does not lie between the gap and its position
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keyMost[gap] = keyMost[next];
+                keyLeast[gap] = keyLeast[next];
+                System.arraycopy(expiries, next * slots, expiries, gap * slots, slots);
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        occupied[gap] = false;
+        Arrays.fill(expiries, gap * slots, gap * slots + slots, 0L);
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMost = keyMost;
+        long[] oldLeast = keyLeast;
+        boolean[] oldOccupied = occupied;
+        long[] oldExpiries = expiries;
+
+        allocate(capacity);
+        for (int i = 0; i < oldOccupied.length; i++) {
+            if (oldOccupied[i]) {
+                int index = insert(oldMost[i], oldLeast[i]);
+                System.arraycopy(oldExpiries, i * slots, expiries, index * slots, slots);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keyMost = new long[capacity];
+        keyLeast = new long[capacity];
+        occupied = new boolean[capacity];
+        expiries = new long[capacity * slots];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int home(long most, long least) {
+        long hash = most ^ least;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = MIN_CAPACITY;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
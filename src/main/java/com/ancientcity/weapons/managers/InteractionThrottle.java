@@ -0,0 +1,99 @@
+package com.ancientcity.weapons.managers;
+
+import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.config.WeaponsConfig;
+import com.ancientcity.weapons.scheduler.ScheduledTask;
+
+import java.util.UUID;
+
+/**
+ * Per-player rate limits for weapon clicks and cooldown reminders.
+ * Keeps the next allowed time for each as a primitive timestamp in a {@link CooldownStore},
+ * so an autoclicker costs one table lookup per click and nothing else.
+ * Clicks arrive on each player's region thread, so the store is locked around every access.
+ */
+public class InteractionThrottle {
+
+    // Store slots: next allowed weapon click and next allowed cooldown message, in epoch milliseconds
+    private static final int NEXT_INTERACTION = 0;
+    private static final int NEXT_FEEDBACK = 1;
+
+    private final AncientCityWeapons plugin;
+    private final CooldownStore nextAllowed;
+    private ScheduledTask sweepTask;
+
+    public InteractionThrottle(AncientCityWeapons plugin) {
+        this.plugin = plugin;
+        this.nextAllowed = new CooldownStore(2);
+    }
+
+    /**
+     * Starts the periodic eviction of players who have not clicked recently.
+     */
+    public void start() {
+        long sweepInterval = plugin.getWeaponsConfig().getSweepInterval() * 20L;
+        sweepTask = plugin.getTaskScheduler().runGlobalTimer(() -> {
+            synchronized (nextAllowed) {
+                nextAllowed.sweep(System.currentTimeMillis());
+            }
+        }, sweepInterval, sweepInterval);
+    }
+
+    /**
+     * Stops the sweep task.
+     */
+    public void shutdown() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+    }
+
+    /**
+     * Checks whether a player may use a weapon now, and if so starts their next interval.
+     *
+     * @param playerUuid The player's UUID
+     * @param config The config snapshot for this click
+     * @return true if the click should be handled, false if it came too soon after the last one
+     */
+    public boolean tryInteract(UUID playerUuid, WeaponsConfig config) {
+        return tryAcquire(playerUuid, NEXT_INTERACTION, config.getInteractionIntervalMillis());
+    }
+
+    /**
+     * Checks whether a player may be sent a cooldown reminder now, and if so starts their next interval.
+     * Reminders in between are dropped, so a burst of clicks on a cooling weapon yields one message.
+     *
+     * @param playerUuid The player's UUID
+     * @param config The config snapshot for this click
+     * @return true if the reminder should be sent
+     */
+    public boolean tryFeedback(UUID playerUuid, WeaponsConfig config) {
+        return tryAcquire(playerUuid, NEXT_FEEDBACK, config.getCooldownMessageIntervalMillis());
+    }
+
+    /**
+     * Gets the number of players currently tracked.
+     *
+     * @return The tracked player count
+     */
+    public int getTrackedPlayerCount() {
+        synchronized (nextAllowed) {
+            return nextAllowed.size();
+        }
+    }
+
+    private boolean tryAcquire(UUID playerUuid, int slot, int intervalMillis) {
+        if (intervalMillis <= 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (nextAllowed) {
+            if (now < nextAllowed.getExpiry(playerUuid, slot)) {
+                return false;
+            }
+            nextAllowed.setExpiry(playerUuid, slot, now + intervalMillis);
+        }
+        return true;
+    }
+}
@@ -1,120 +1,80 @@
 package com.ancientcity.weapons.managers;
 
-import org.bukkit.ChatColor;
-import org.bukkit.Material;
+import com.ancientcity.weapons.ability.Ability;
+import com.ancientcity.weapons.ability.AbilityRegistry;
+import com.ancientcity.weapons.config.WeaponsConfig;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Manages the creation and identification of custom Ancient City weapons.
  */
 public class ItemManager {
 
-    // Custom item identifiers stored in persistent data
-    public static final String WARDEN_BEAM_ID = "warden_beam";
-    public static final String BARRIER_CAGE_ID = "barrier_cage";
-
+    private final AbilityRegistry abilities;
     private final NamespacedKey itemIdKey;
+    // Fully built weapon stacks by ability slot, cloned on every give
+    private volatile ItemStack[] prototypes;
 
-    public ItemManager() {
+    public ItemManager(AbilityRegistry abilities) {
+        this.abilities = abilities;
         this.itemIdKey = new NamespacedKey("ancientcityweapons", "item_id");
     }
 
     /**
-     * Creates the Warden Beam item (Disc Fragment).
+     * Rebuilds the cached item prototypes so their lore reflects the given config.
+     * Called on enable and after every config reload.
      *
-     * @return The Warden Beam ItemStack
+     * @param config The config snapshot to describe
      */
-    public ItemStack createWardenBeam() {
-        ItemStack item = new ItemStack(Material.DISC_FRAGMENT_5);
-        ItemMeta meta = item.getItemMeta();
-
-        if (meta != null) {
-            // Set display name with Ancient City theme
-            meta.setDisplayName(ChatColor.DARK_AQUA + "" + ChatColor.BOLD + "Warden Beam");
-
-            // Set lore
-            List<String> lore = new ArrayList<>();
-            lore.add(ChatColor.GRAY + "" + ChatColor.ITALIC + "A fragment imbued with the Warden's power.");
-            lore.add("");
-            lore.add(ChatColor.DARK_PURPLE + "Right-click to fire a devastating beam");
-            lore.add(ChatColor.DARK_GRAY + "Range: 4 blocks | Damage: 3 hearts");
-            lore.add(ChatColor.DARK_GRAY + "Cooldown: 1 minute 30 seconds");
-            meta.setLore(lore);
-
-            // Set custom item identifier
-            meta.getPersistentDataContainer().set(itemIdKey, PersistentDataType.STRING, WARDEN_BEAM_ID);
-
-            item.setItemMeta(meta);
+    public void rebuildPrototypes(WeaponsConfig config) {
+        ItemStack[] rebuilt = new ItemStack[abilities.size()];
+        for (int slot = 0; slot < rebuilt.length; slot++) {
+            Ability ability = abilities.get(slot);
+            ItemStack item = ability.buildItem(config, config.getCooldown(slot));
+            ItemMeta meta = item.getItemMeta();
+            if (meta != null) {
+                // Set custom item identifier
+                meta.getPersistentDataContainer().set(itemIdKey, PersistentDataType.STRING, ability.getId());
+                item.setItemMeta(meta);
+            }
+            rebuilt[slot] = item;
         }
-
-        return item;
+        this.prototypes = rebuilt;
     }
 
     /**
-     * Creates the Barrier Cage item (Heavy Core).
+     * Creates a weapon item by cloning its cached prototype.
      *
-     * @return The Barrier Cage ItemStack
+     * @param slot The ability slot of the weapon
+     * @param amount The stack size, at most the item's max stack size
+     * @return A new ItemStack for the weapon
      */
-    public ItemStack createBarrierCage() {
-        ItemStack item = new ItemStack(Material.HEAVY_CORE);
-        ItemMeta meta = item.getItemMeta();
-
-        if (meta != null) {
-            // Set display name with Ancient City theme
-            meta.setDisplayName(ChatColor.DARK_AQUA + "" + ChatColor.BOLD + "Barrier Cage");
-
-            // Set lore
-            List<String> lore = new ArrayList<>();
-            lore.add(ChatColor.GRAY + "" + ChatColor.ITALIC + "A core that harnesses protective energy.");
-            lore.add("");
-            lore.add(ChatColor.DARK_PURPLE + "Right-click to create a protective barrier");
-            lore.add(ChatColor.DARK_GRAY + "Radius: 4 blocks | Duration: 10 seconds");
-            lore.add(ChatColor.DARK_GRAY + "Cooldown: 1 minute");
-            meta.setLore(lore);
-
-            // Set custom item identifier
-            meta.getPersistentDataContainer().set(itemIdKey, PersistentDataType.STRING, BARRIER_CAGE_ID);
-
-            item.setItemMeta(meta);
-        }
-
+    public ItemStack createWeapon(int slot, int amount) {
+        ItemStack item = prototypes[slot].clone();
+        item.setAmount(amount);
         return item;
     }
 
     /**
-     * Checks if an item is the Warden Beam.
+     * Determines which weapon an item is.
+     * Rejects by material first, so ordinary items never have their meta copied,
+     * and reads the meta at most once whatever the number of abilities.
      *
-     * @param item The item to check
-     * @return true if it's the Warden Beam, false otherwise
+     * @param item The item to classify
+     * @return The ability slot, or -1 if the item is not an Ancient City weapon
      */
-    public boolean isWardenBeam(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return false;
+    public int classify(ItemStack item) {
+        if (item == null || !abilities.isWeaponMaterial(item.getType()) || !item.hasItemMeta()) {
+            return -1;
         }
         ItemMeta meta = item.getItemMeta();
-        String id = meta.getPersistentDataContainer().get(itemIdKey, PersistentDataType.STRING);
-        return WARDEN_BEAM_ID.equals(id);
-    }
-
-    /**
-     * Checks if an item is the Barrier Cage.
-     *
-     * @param item The item to check
-     * @return true if it's the Barrier Cage, false otherwise
-     */
-    public boolean isBarrierCage(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return false;
+        if (meta == null) {
+            return -1;
         }
-        ItemMeta meta = item.getItemMeta();
-        String id = meta.getPersistentDataContainer().get(itemIdKey, PersistentDataType.STRING);
-        return BARRIER_CAGE_ID.equals(id);
+        return abilities.slotOf(meta.getPersistentDataContainer().get(itemIdKey, PersistentDataType.STRING));
     }
 
     /**
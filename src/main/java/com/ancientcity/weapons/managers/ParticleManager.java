@@ -0,0 +1,224 @@
+package com.ancientcity.weapons.managers;
+
+import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.config.WeaponsConfig;
+import com.ancientcity.weapons.scheduler.ScheduledTask;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Central sink for the plugin's particle effects.
+ * Sends particles only to players within the configured view distance and
+ * enforces a server-wide packet budget per tick, thinning out shapes when over budget.
+ *
+ * <p>Shapes are emitted with {@link #beginShape} followed by {@link #shapePoint} for
+ * every {@code stride}-th point, so callers never build point lists.</p>
+ *
+ * <p>Effects may be emitted from several region threads at once. Each thread has its own viewer
+ * list, so a shape is only ever seen by the thread that began it, and the budget is a shared
+ * counter that concurrent shapes may overdraw by at most one shape each.</p>
+ */
+public class ParticleManager {
+
+    private final AncientCityWeapons plugin;
+
+    // Players receiving the current effect on each thread; reused between effects
+    private final ThreadLocal<List<Player>> viewerLists = ThreadLocal.withInitial(ArrayList::new);
+
+    private final AtomicInteger budgetRemaining = new AtomicInteger();
+    private ScheduledTask resetTask;
+
+    private final LongAdder sentPackets = new LongAdder();
+    private final LongAdder droppedPackets = new LongAdder();
+    private final LongAdder downsampledPackets = new LongAdder();
+    private final LongAdder culledEffects = new LongAdder();
+
+    public ParticleManager(AncientCityWeapons plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts the task that refills the packet budget every tick.
+     */
+    public void start() {
+        budgetRemaining.set(plugin.getWeaponsConfig().getParticleBudget());
+        resetTask = plugin.getTaskScheduler().runGlobalTimer(
+                () -> budgetRemaining.set(plugin.getWeaponsConfig().getParticleBudget()), 1L, 1L);
+    }
+
+    /**
+     * Stops the budget task.
+     */
+    public void shutdown() {
+        if (resetTask != null) {
+            resetTask.cancel();
+            resetTask = null;
+        }
+    }
+
+    /**
+     * Spawns a single particle effect for nearby players, dropping it if the budget is spent.
+     *
+     * @param world The world to spawn in
+     * @param particle The particle type
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @param count Particle count
+     * @param offsetX Random offset on X
+     * @param offsetY Random offset on Y
+     * @param offsetZ Random offset on Z
+     * @param extra Particle speed or extra data
+     */
+    public void spawn(World world, Particle particle, double x, double y, double z, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra) {
+        List<Player> viewers = viewerLists.get();
+        if (!collectViewers(viewers, world, x, y, z)) {
+            return;
+        }
+        if (budgetRemaining.get() < viewers.size()) {
+            droppedPackets.add(viewers.size());
+            viewers.clear();
+            return;
+        }
+        budgetRemaining.addAndGet(-viewers.size());
+        shapePoint(particle, x, y, z, count, offsetX, offsetY, offsetZ, extra);
+        viewers.clear();
+    }
+
+    /**
+     * Starts a multi-point effect anchored at the given position.
+     * The caller should then send every {@code stride}-th point through {@link #shapePoint}
+     * and finish with {@link #endShape()}.
+     *
+     * @param world The world to spawn in
+     * @param x Anchor X used for view distance culling
+     * @param y Anchor Y used for view distance culling
+     * @param z Anchor Z used for view distance culling
+     * @param points Number of points in the full-quality shape
+     * @param packetsPerPoint Number of {@link #shapePoint} calls made for each point
+     * @param minimumStride Smallest stride to use, for callers that already want a sparser shape
+     * @return The sampling stride, or 0 if nothing should be sent
+     */
+    public int beginShape(World world, double x, double y, double z, int points, int packetsPerPoint, int minimumStride) {
+        List<Player> viewers = viewerLists.get();
+        if (points <= 0 || !collectViewers(viewers, world, x, y, z)) {
+            return 0;
+        }
+
+        int packetsPerViewerPoint = viewers.size() * packetsPerPoint;
+        int stride = Math.max(1, minimumStride);
+        int affordable = budgetRemaining.get() / packetsPerViewerPoint;
+        if (affordable <= 0) {
+            droppedPackets.add((long) points * packetsPerViewerPoint);
+            viewers.clear();
+            return 0;
+        }
+        // Sparse sampling: widen the stride until the shape fits in the remaining budget
+        if ((points + stride - 1) / stride > affordable) {
+            stride = (points + affordable - 1) / affordable;
+        }
+
+        int sent = (points + stride - 1) / stride;
+        budgetRemaining.addAndGet(-sent * packetsPerViewerPoint);
+        downsampledPackets.add((long) (points - sent) * packetsPerViewerPoint);
+        return stride;
+    }
+
+    /**
+     * Sends one point of the current shape to its viewers.
+     *
+     * @param particle The particle type
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @param count Particle count
+     * @param offsetX Random offset on X
+     * @param offsetY Random offset on Y
+     * @param offsetZ Random offset on Z
+     * @param extra Particle speed or extra data
+     */
+    public void shapePoint(Particle particle, double x, double y, double z, int count,
+                           double offsetX, double offsetY, double offsetZ, double extra) {
+        List<Player> viewers = viewerLists.get();
+        for (int i = 0; i < viewers.size(); i++) {
+            viewers.get(i).spawnParticle(particle, x, y, z, count, offsetX, offsetY, offsetZ, extra);
+        }
+        sentPackets.add(viewers.size());
+    }
+
+    /**
+     * Finishes the current shape and releases its viewers.
+     */
+    public void endShape() {
+        viewerLists.get().clear();
+    }
+
+    /**
+     * Collects the players close enough to see an effect.
+     *
+     * @return true if anyone can see it
+     */
+    private boolean collectViewers(List<Player> viewers, World world, double x, double y, double z) {
+        viewers.clear();
+        WeaponsConfig config = plugin.getWeaponsConfig();
+        double maxDistanceSquared = config.getParticleViewDistance() * config.getParticleViewDistance();
+        for (Player player : world.getPlayers()) {
+            Location location = player.getLocation();
+            double dx = location.getX() - x;
+            double dy = location.getY() - y;
+            double dz = location.getZ() - z;
+            if (dx * dx + dy * dy + dz * dz <= maxDistanceSquared) {
+                viewers.add(player);
+            }
+        }
+        if (viewers.isEmpty()) {
+            culledEffects.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of particle packets sent.
+     *
+     * @return Packets sent since enable
+     */
+    public long getSentPackets() {
+        return sentPackets.sum();
+    }
+
+    /**
+     * Gets the number of packets dropped because the tick budget was spent.
+     *
+     * @return Packets dropped since enable
+     */
+    public long getDroppedPackets() {
+        return droppedPackets.sum();
+    }
+
+    /**
+     * Gets the number of packets skipped by downsampling shapes.
+     *
+     * @return Packets skipped since enable
+     */
+    public long getDownsampledPackets() {
+        return downsampledPackets.sum();
+    }
+
+    /**
+     * Gets the number of effects no player was close enough to see.
+     *
+     * @return Culled effects since enable
+     */
+    public long getCulledEffects() {
+        return culledEffects.sum();
+    }
+}
@@ -0,0 +1,312 @@
+package com.ancientcity.weapons.managers;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects runtime statistics about the plugin's abilities.
+ * Abilities may be used on several region threads at once, so counters are {@link LongAdder}s and
+ * latencies go to {@link StripedLatencyHistogram}s; no recording method takes a lock shared by all
+ * threads, and once the adders have grown their cells recording no longer allocates.
+ * Readers see each counter's current sum, not a snapshot taken across all of them.
+ */
+public class StatsManager {
+
+    // Per ability, indexed by slot
+    private final LongAdder[] activations;
+    private final LongAdder[] cooldownRejections;
+    private final StripedLatencyHistogram[] activationLatency;
+
+    private final StripedLatencyHistogram cageRemovalLatency = new StripedLatencyHistogram();
+    private final LongAdder blocksPlaced = new LongAdder();
+    private final LongAdder blocksCleared = new LongAdder();
+    private final LongAdder beamEntitiesScanned = new LongAdder();
+    private final LongAdder beamEntitiesHit = new LongAdder();
+    private final LongAdder throttledInteractions = new LongAdder();
+    private final LongAdder suppressedMessages = new LongAdder();
+
+    private final LongAdder cageScans = new LongAdder();
+    private final LongAdder cageScanNanos = new LongAdder();
+    private final LongAccumulator cageScanMaxNanos = new LongAccumulator(Math::max, 0L);
+    // Diagnostics of the latest scan; two scans finishing together may interleave their values
+    private volatile long cageScanLastNanos;
+    private volatile int cageScanLastCells;
+    private volatile int cageScanLastAirCells;
+
+    /**
+     * Creates the statistics tables.
+     *
+     * @param abilities The number of registered abilities
+     */
+    public StatsManager(int abilities) {
+        this.activations = new LongAdder[abilities];
+        this.cooldownRejections = new LongAdder[abilities];
+        this.activationLatency = new StripedLatencyHistogram[abilities];
+        for (int i = 0; i < abilities; i++) {
+            activations[i] = new LongAdder();
+            cooldownRejections[i] = new LongAdder();
+            activationLatency[i] = new StripedLatencyHistogram();
+        }
+    }
+
+    /**
+     * Records one successful ability activation.
+     *
+     * @param slot The slot of the ability that was used
+     * @param nanos Time spent handling the activation
+     */
+    public void recordActivation(int slot, long nanos) {
+        activations[slot].increment();
+        activationLatency[slot].record(nanos);
+    }
+
+    /**
+     * Records an activation attempt rejected because the ability was on cooldown.
+     *
+     * @param slot The slot of the ability that was used
+     */
+    public void recordCooldownRejection(int slot) {
+        cooldownRejections[slot].increment();
+    }
+
+    /**
+     * Records a weapon click ignored because it came too soon after the previous one.
+     */
+    public void recordThrottledInteraction() {
+        throttledInteractions.increment();
+    }
+
+    /**
+     * Records a cooldown reminder that was not sent because one was sent recently.
+     */
+    public void recordSuppressedMessage() {
+        suppressedMessages.increment();
+    }
+
+    /**
+     * Records the targets examined by one beam.
+     *
+     * @param scanned Number of entities returned by the area query
+     * @param hit Number of entities the beam intersected
+     */
+    public void recordBeamTargets(int scanned, int hit) {
+        beamEntitiesScanned.add(scanned);
+        beamEntitiesHit.add(hit);
+    }
+
+    /**
+     * Records barrier blocks written into the world by cage placement.
+     *
+     * @param blocks Number of blocks placed
+     */
+    public void recordBlocksPlaced(int blocks) {
+        blocksPlaced.add(blocks);
+    }
+
+    /**
+     * Records barrier blocks cleared by cage removal.
+     *
+     * @param blocks Number of blocks cleared
+     */
+    public void recordBlocksCleared(int blocks) {
+        blocksCleared.add(blocks);
+    }
+
+    /**
+     * Records the tick-thread cost of removing one cage.
+     * Queued block clearing is not included; it is spread over later ticks.
+     *
+     * @param nanos Time spent removing the cage
+     */
+    public void recordCageRemoval(long nanos) {
+        cageRemovalLatency.record(nanos);
+    }
+
+    /**
+     * Records the placement scan of one chunk column of a cage.
+     *
+     * @param nanos Time spent reading the chunk and building the air mask
+     * @param cells Number of shell cells examined
+     * @param airCells Number of cells found to be air
+     */
+    public void recordCageScan(long nanos, int cells, int airCells) {
+        cageScans.increment();
+        cageScanNanos.add(nanos);
+        cageScanMaxNanos.accumulate(nanos);
+        cageScanLastNanos = nanos;
+        cageScanLastCells = cells;
+        cageScanLastAirCells = airCells;
+    }
+
+    /**
+     * Gets the number of cage scans recorded.
+     *
+     * @return The scan count
+     */
+    public long getCageScans() {
+        return cageScans.sum();
+    }
+
+    /**
+     * Gets the average cage scan time.
+     *
+     * @return Average scan time in nanoseconds, or 0 if none were recorded
+     */
+    public long getCageScanAverageNanos() {
+        long scans = cageScans.sum();
+        return scans == 0 ? 0 : cageScanNanos.sum() / scans;
+    }
+
+    /**
+     * Gets the slowest cage scan.
+     *
+     * @return Maximum scan time in nanoseconds
+     */
+    public long getCageScanMaxNanos() {
+        return cageScanMaxNanos.get();
+    }
+
+    /**
+     * Gets the most recent cage scan time.
+     *
+     * @return Last scan time in nanoseconds
+     */
+    public long getCageScanLastNanos() {
+        return cageScanLastNanos;
+    }
+
+    /**
+     * Gets the number of shell cells examined by the most recent scan.
+     *
+     * @return Cells examined
+     */
+    public int getCageScanLastCells() {
+        return cageScanLastCells;
+    }
+
+    /**
+     * Gets the number of air cells found by the most recent scan.
+     *
+     * @return Air cells
+     */
+    public int getCageScanLastAirCells() {
+        return cageScanLastAirCells;
+    }
+
+    /**
+     * Gets the number of successful activations of an ability.
+     *
+     * @param slot The ability slot
+     * @return The activation count
+     */
+    public long getActivations(int slot) {
+        return activations[slot].sum();
+    }
+
+    /**
+     * Gets the number of activation attempts rejected by an ability's cooldown.
+     *
+     * @param slot The ability slot
+     * @return The rejection count
+     */
+    public long getCooldownRejections(int slot) {
+        return cooldownRejections[slot].sum();
+    }
+
+    /**
+     * Gets the activation latency histogram of an ability.
+     *
+     * @param slot The ability slot
+     * @return A snapshot of the histogram
+     */
+    public LatencyHistogram getActivationLatency(int slot) {
+        return activationLatency[slot].snapshot();
+    }
+
+    /**
+     * Gets the cage removal latency histogram.
+     *
+     * @return A snapshot of the histogram
+     */
+    public LatencyHistogram getCageRemovalLatency() {
+        return cageRemovalLatency.snapshot();
+    }
+
+    /**
+     * Gets the number of barrier blocks placed by cages.
+     *
+     * @return Blocks placed
+     */
+    public long getBlocksPlaced() {
+        return blocksPlaced.sum();
+    }
+
+    /**
+     * Gets the number of barrier blocks cleared by cage removal.
+     *
+     * @return Blocks cleared
+     */
+    public long getBlocksCleared() {
+        return blocksCleared.sum();
+    }
+
+    /**
+     * Gets the number of entities examined by beams.
+     *
+     * @return Entities scanned
+     */
+    public long getBeamEntitiesScanned() {
+        return beamEntitiesScanned.sum();
+    }
+
+    /**
+     * Gets the number of entities hit by beams.
+     *
+     * @return Entities hit
+     */
+    public long getBeamEntitiesHit() {
+        return beamEntitiesHit.sum();
+    }
+
+    /**
+     * Gets the number of weapon clicks ignored by the interaction throttle.
+     *
+     * @return Throttled clicks
+     */
+    public long getThrottledInteractions() {
+        return throttledInteractions.sum();
+    }
+
+    /**
+     * Gets the number of cooldown reminders that were rate-limited away.
+     *
+     * @return Suppressed messages
+     */
+    public long getSuppressedMessages() {
+        return suppressedMessages.sum();
+    }
+
+    /**
+     * Clears all statistics. Samples recorded on other threads while this runs may survive it.
+     */
+    public void reset() {
+        for (int i = 0; i < activations.length; i++) {
+            activations[i].reset();
+            cooldownRejections[i].reset();
+            activationLatency[i].reset();
+        }
+        cageRemovalLatency.reset();
+        blocksPlaced.reset();
+        blocksCleared.reset();
+        beamEntitiesScanned.reset();
+        beamEntitiesHit.reset();
+        throttledInteractions.reset();
+        suppressedMessages.reset();
+        cageScans.reset();
+        cageScanNanos.reset();
+        cageScanMaxNanos.reset();
+        cageScanLastNanos = 0;
+        cageScanLastCells = 0;
+        cageScanLastAirCells = 0;
+    }
+}
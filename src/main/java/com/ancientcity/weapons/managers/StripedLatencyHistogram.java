@@ -0,0 +1,64 @@
+package com.ancientcity.weapons.managers;
+
+/**
+ * A {@link LatencyHistogram} split into stripes so that region threads recording at the same time
+ * rarely share a lock. Each thread records into the stripe its thread ID maps to, under that
+ * stripe's monitor only; readers merge all stripes into a snapshot.
+ */
+public class StripedLatencyHistogram {
+
+    // Enough stripes that region threads seldom collide, without a few KB per stripe adding up
+    private static final int MAX_STRIPES = 16;
+
+    private final LatencyHistogram[] stripes;
+    private final int mask;
+
+    public StripedLatencyHistogram() {
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+        this.stripes = new LatencyHistogram[stripeCount];
+        this.mask = stripeCount - 1;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records one latency in the calling thread's stripe.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void record(long nanos) {
+        // Thread IDs are handed out in sequence, so a server's region threads land on distinct stripes
+        LatencyHistogram stripe = stripes[(int) Thread.currentThread().getId() & mask];
+        synchronized (stripe) {
+            stripe.record(nanos);
+        }
+    }
+
+    /**
+     * Merges the stripes into a new histogram. Each stripe is read under its own monitor, so
+     * samples recorded during the merge may or may not be included, but none is half counted.
+     *
+     * @return A snapshot of all samples
+     */
+    public LatencyHistogram snapshot() {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (LatencyHistogram stripe : stripes) {
+            synchronized (stripe) {
+                merged.add(stripe);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Removes all samples.
+     */
+    public void reset() {
+        for (LatencyHistogram stripe : stripes) {
+            synchronized (stripe) {
+                stripe.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.ancientcity.weapons.managers;
+
+import com.ancientcity.weapons.AncientCityWeapons;
+import com.ancientcity.weapons.config.WeaponsConfig;
+import com.ancientcity.weapons.scheduler.ScheduledTask;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how much tick-thread time the plugin uses per tick and trades effect quality for time when
+ * it goes over budget. Work is charged with {@link #charge(long)}; once per tick the total is folded
+ * into a moving average, and the quality level steps down while the average stays over budget and
+ * back up once it has stayed under half the budget for a while.
+ *
+ * <p>On a region-threaded server time is charged from every region thread and summed per global tick,
+ * so the budget covers the plugin's total cost across cores.</p>
+ */
+public class TickWatchdog {
+
+    /**
+     * Effect quality levels, from best to cheapest. Each level keeps the savings of the ones before it.
+     */
+    public enum Level {
+        FULL("full"),
+        REDUCED_BEAM("fewer beam particles"),
+        SPARSE_CAGE("sparser cage particles"),
+        DEFERRED_REMOVAL("deferred cage removal");
+
+        private static final Level[] VALUES = values();
+
+        private final String description;
+
+        Level(String description) {
+            this.description = description;
+        }
+
+        /**
+         * Gets a short description of what this level gives up.
+         *
+         * @return The description
+         */
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    // The moving average weighs each tick by 1/8, so a single spike does not trip it
+    private static final int AVERAGE_SHIFT = 3;
+    // Minimum ticks between two step downs, and ticks under half budget before a step up
+    private static final int DEGRADE_HOLD_TICKS = 20;
+    private static final int RECOVER_HOLD_TICKS = 100;
+
+    private final AncientCityWeapons plugin;
+    private ScheduledTask tickTask;
+
+    private final LongAdder tickNanos = new LongAdder();
+    // Written only by the global tick task; volatile so region threads read the current values
+    private volatile long lastTickNanos;
+    private volatile long averageNanos;
+    private volatile long maxTickNanos;
+    private int ticksSinceChange;
+    private int ticksUnderBudget;
+    private volatile long degradations;
+    private volatile Level level = Level.FULL;
+
+    public TickWatchdog(AncientCityWeapons plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts the task that closes each tick's measurement and adjusts the level.
+     */
+    public void start() {
+        tickTask = plugin.getTaskScheduler().runGlobalTimer(this::endTick, 1L, 1L);
+    }
+
+    /**
+     * Stops the tick task.
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    /**
+     * Charges tick-thread time spent by the plugin to the current tick.
+     *
+     * @param nanos Time spent in nanoseconds
+     */
+    public void charge(long nanos) {
+        tickNanos.add(nanos);
+    }
+
+    /**
+     * Folds the current tick into the average and steps the level if needed.
+     */
+    void endTick() {
+        long spent = tickNanos.sumThenReset();
+        lastTickNanos = spent;
+        maxTickNanos = Math.max(maxTickNanos, spent);
+        averageNanos += (spent - averageNanos) >> AVERAGE_SHIFT;
+        ticksSinceChange++;
+
+        WeaponsConfig config = plugin.getWeaponsConfig();
+        if (!config.isAdaptiveQuality()) {
+            level = Level.FULL;
+            return;
+        }
+
+        long budget = config.getTickBudgetNanos();
+        if (averageNanos > budget) {
+            ticksUnderBudget = 0;
+            if (ticksSinceChange >= DEGRADE_HOLD_TICKS && level.ordinal() < Level.VALUES.length - 1) {
+                setLevel(Level.VALUES[level.ordinal() + 1]);
+                degradations++;
+            }
+        } else if (averageNanos < budget / 2) {
+            if (++ticksUnderBudget >= RECOVER_HOLD_TICKS && level != Level.FULL) {
+                setLevel(Level.VALUES[level.ordinal() - 1]);
+                ticksUnderBudget = 0;
+            }
+        } else {
+            ticksUnderBudget = 0;
+        }
+    }
+
+    private void setLevel(Level next) {
+        plugin.getLogger().info("Effect quality " + (next.ordinal() > level.ordinal() ? "lowered" : "raised") + " to " + next.getDescription()
+                + " (plugin tick time " + averageNanos / 1000 + " µs, budget " + plugin.getWeaponsConfig().getTickBudgetNanos() / 1000 + " µs)");
+        level = next;
+        ticksSinceChange = 0;
+    }
+
+    /**
+     * Gets the current quality level.
+     *
+     * @return The level
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the minimum particle stride for beams at the current level.
+     *
+     * @return 1 for every point, higher to skip points
+     */
+    public int getBeamParticleStride() {
+        return switch (level) {
+            case FULL -> 1;
+            case REDUCED_BEAM, SPARSE_CAGE -> 2;
+            case DEFERRED_REMOVAL -> 4;
+        };
+    }
+
+    /**
+     * Gets the minimum particle stride for cage effects at the current level.
+     *
+     * @return 1 for every point, higher to skip points
+     */
+    public int getCageParticleStride() {
+        return level.ordinal() >= Level.SPARSE_CAGE.ordinal() ? 4 : 1;
+    }
+
+    /**
+     * Checks whether expired cages should be removed gradually instead of all in the tick they expire.
+     *
+     * @return true if removal is deferred
+     */
+    public boolean isRemovalDeferred() {
+        return level == Level.DEFERRED_REMOVAL;
+    }
+
+    /**
+     * Gets the plugin's tick-thread time in the last completed tick.
+     *
+     * @return Time in nanoseconds
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Gets the moving average of the plugin's tick-thread time per tick.
+     *
+     * @return Time in nanoseconds
+     */
+    public long getAverageNanos() {
+        return averageNanos;
+    }
+
+    /**
+     * Gets the most tick-thread time the plugin used in a single tick.
+     *
+     * @return Time in nanoseconds
+     */
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    /**
+     * Gets how many times the level has been lowered.
+     *
+     * @return The degradation count
+     */
+    public long getDegradations() {
+        return degradations;
+    }
+}
@@ -0,0 +1,271 @@
+package com.ancientcity.weapons.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Consumer;
+
+/**
+ * Runs tasks on a region-threaded server, where each group of chunks ticks on its own thread.
+ * The plugin is built against the Spigot API, so the server's region, entity, global and async
+ * schedulers are looked up reflectively once, at construction, and bound into method handles of
+ * fixed types. Calls then go through {@code invokeExact}, with no argument arrays or boxing.
+ */
+public class RegionTaskScheduler implements TaskScheduler {
+
+    // Only present on region-threaded servers
+    private static final String REGIONIZED_SERVER = "io.papermc.paper.threadedregions.RegionizedServer";
+    private static final String SCHEDULER_PACKAGE = "io.papermc.paper.threadedregions.scheduler.";
+    private static final String TICK_REGIONS = "io.papermc.paper.threadedregions.TickRegions";
+
+    private final Plugin plugin;
+    private final int regionShift;
+
+    // Bound to their scheduler or to the server, so only the call's own arguments are passed
+    private final MethodHandle globalRun;
+    private final MethodHandle globalRunAtFixedRate;
+    private final MethodHandle regionRun;
+    private final MethodHandle regionRunAtFixedRate;
+    private final MethodHandle asyncRunNow;
+    private final MethodHandle ownsChunk;
+    private final MethodHandle ownsEntity;
+    private final MethodHandle entityGetScheduler;
+    private final MethodHandle entityRunDelayed;
+    private final MethodHandle entityTeleportAsync;
+    private final MethodHandle taskCancel;
+    private final MethodHandle taskIsCancelled;
+
+    /**
+     * Checks whether the running server ticks regions on separate threads.
+     *
+     * @return true if this scheduler can be used
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName(REGIONIZED_SERVER);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Looks up the server's schedulers.
+     *
+     * @param plugin The plugin owning the tasks
+     * @throws IllegalStateException if the server does not provide the region scheduler API
+     */
+    public RegionTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        try {
+            Class<?> globalType = Class.forName(SCHEDULER_PACKAGE + "GlobalRegionScheduler");
+            Class<?> regionType = Class.forName(SCHEDULER_PACKAGE + "RegionScheduler");
+            Class<?> entityType = Class.forName(SCHEDULER_PACKAGE + "EntityScheduler");
+            Class<?> asyncType = Class.forName(SCHEDULER_PACKAGE + "AsyncScheduler");
+            Class<?> taskType = Class.forName(SCHEDULER_PACKAGE + "ScheduledTask");
+            Server server = Bukkit.getServer();
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            Object globalScheduler = Server.class.getMethod("getGlobalRegionScheduler").invoke(server);
+            Object regionScheduler = Server.class.getMethod("getRegionScheduler").invoke(server);
+            Object asyncScheduler = Server.class.getMethod("getAsyncScheduler").invoke(server);
+
+            this.globalRun = bind(lookup, globalType, globalScheduler, "run",
+                    MethodType.methodType(Object.class, Plugin.class, Consumer.class));
+            this.globalRunAtFixedRate = bind(lookup, globalType, globalScheduler, "runAtFixedRate",
+                    MethodType.methodType(Object.class, Plugin.class, Consumer.class, long.class, long.class));
+            this.regionRun = bind(lookup, regionType, regionScheduler, "run",
+                    MethodType.methodType(Object.class, Plugin.class, World.class, int.class, int.class, Consumer.class));
+            this.regionRunAtFixedRate = bind(lookup, regionType, regionScheduler, "runAtFixedRate",
+                    MethodType.methodType(Object.class, Plugin.class, World.class, int.class, int.class, Consumer.class, long.class, long.class));
+            this.asyncRunNow = bind(lookup, asyncType, asyncScheduler, "runNow",
+                    MethodType.methodType(Object.class, Plugin.class, Consumer.class));
+            this.ownsChunk = bind(lookup, Server.class, server, "isOwnedByCurrentRegion",
+                    MethodType.methodType(boolean.class, World.class, int.class, int.class));
+            this.ownsEntity = bind(lookup, Server.class, server, "isOwnedByCurrentRegion",
+                    MethodType.methodType(boolean.class, Entity.class));
+
+            this.entityGetScheduler = lookup.unreflect(Entity.class.getMethod("getScheduler"))
+                    .asType(MethodType.methodType(Object.class, Entity.class));
+            this.entityRunDelayed = lookup.unreflect(entityType.getMethod("runDelayed", Plugin.class, Consumer.class, Runnable.class, long.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Plugin.class, Consumer.class, Runnable.class, long.class));
+            // Entity.teleport is not allowed on a region-threaded server; the future it returns is not needed
+            this.entityTeleportAsync = lookup.unreflect(Entity.class.getMethod("teleportAsync", Location.class))
+                    .asType(MethodType.methodType(void.class, Entity.class, Location.class));
+            // cancel() reports how the task was cancelled; that is not needed here
+            this.taskCancel = lookup.unreflect(taskType.getMethod("cancel"))
+                    .asType(MethodType.methodType(void.class, Object.class));
+            this.taskIsCancelled = lookup.unreflect(taskType.getMethod("isCancelled"))
+                    .asType(MethodType.methodType(boolean.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Region scheduler API not available", e);
+        }
+        this.regionShift = lookupRegionShift();
+    }
+
+    /**
+     * Looks up a public method and binds it to its receiver, adapting its return type to the given one.
+     * Parameter types must match the method's exactly.
+     */
+    private static MethodHandle bind(MethodHandles.Lookup lookup, Class<?> owner, Object receiver, String name, MethodType type)
+            throws ReflectiveOperationException {
+        MethodHandle handle = lookup.unreflect(owner.getMethod(name, type.parameterArray()));
+        return handle.bindTo(receiver).asType(type);
+    }
+
+    /**
+     * Reads how many chunks a side, as a power of two, the server's region sections span.
+     * Falls back to single chunks, which is always safe, if the server does not say.
+     */
+    private static int lookupRegionShift() {
+        try {
+            Object shift = Class.forName(TICK_REGIONS).getMethod("getRegionChunkShift").invoke(null);
+            return shift instanceof Integer value && value >= 0 && value < 16 ? value : 0;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public ScheduledTask runGlobal(Runnable task) {
+        try {
+            return wrap((Object) globalRun.invokeExact(plugin, consumer(task)));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public ScheduledTask runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        try {
+            return wrap((Object) globalRunAtFixedRate.invokeExact(plugin, consumer(task), Math.max(1L, delayTicks), periodTicks));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public ScheduledTask runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        try {
+            return wrap((Object) regionRun.invokeExact(plugin, world, chunkX, chunkZ, consumer(task)));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public ScheduledTask runAtChunkTimer(World world, int chunkX, int chunkZ, Runnable task, long delayTicks, long periodTicks) {
+        try {
+            return wrap((Object) regionRunAtFixedRate.invokeExact(plugin, world, chunkX, chunkZ, consumer(task),
+                    Math.max(1L, delayTicks), periodTicks));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public ScheduledTask runAtEntity(Entity entity, Runnable task, long delayTicks) {
+        try {
+            Object scheduler = (Object) entityGetScheduler.invokeExact(entity);
+            // Null when the entity has already been removed
+            Object scheduled = (Object) entityRunDelayed.invokeExact(scheduler, plugin, consumer(task), (Runnable) null, Math.max(1L, delayTicks));
+            return scheduled == null ? null : wrap(scheduled);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public ScheduledTask runAsync(Runnable task) {
+        try {
+            return wrap((Object) asyncRunNow.invokeExact(plugin, consumer(task)));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(World world, int chunkX, int chunkZ) {
+        try {
+            return (boolean) ownsChunk.invokeExact(world, chunkX, chunkZ);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public boolean isOwnedByCurrentRegion(Entity entity) {
+        try {
+            return (boolean) ownsEntity.invokeExact(entity);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    @Override
+    public int getRegionShift() {
+        return regionShift;
+    }
+
+    @Override
+    public void teleport(Entity entity, Location location) {
+        try {
+            entityTeleportAsync.invokeExact(entity, location);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static Consumer<Object> consumer(Runnable task) {
+        return scheduled -> task.run();
+    }
+
+    private ScheduledTask wrap(Object task) {
+        return new ScheduledTask() {
+            @Override
+            public void cancel() {
+                try {
+                    taskCancel.invokeExact(task);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            }
+
+            @Override
+            public boolean isCancelled() {
+                try {
+                    return (boolean) taskIsCancelled.invokeExact(task);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Rethrows what a server method threw, wrapping checked exceptions.
+     *
+     * @return Never returns normally; declared so callers can {@code throw} it
+     */
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ancientcity.weapons.scheduler;
+
+/**
+ * A task submitted to a {@link TaskScheduler}.
+ */
+public interface ScheduledTask {
+
+    /**
+     * Cancels the task. A repeating task stops before its next run; a running task finishes its current run.
+     */
+    void cancel();
+
+    /**
+     * Checks whether the task has been cancelled.
+     *
+     * @return true if cancelled
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,166 @@
+package com.ancientcity.weapons.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Submits the plugin's tasks by what they touch rather than assuming a single main thread.
+ *
+ * <ul>
+ *     <li><b>Global</b> tasks touch no blocks or entities, only plugin state: clocks, budgets, sweeps.</li>
+ *     <li><b>Chunk</b> tasks run on the thread that owns a chunk and may touch blocks near it.</li>
+ *     <li><b>Entity</b> tasks run on the thread that owns an entity, wherever it moves, and are dropped
+ *     if the entity is removed first.</li>
+ * </ul>
+ *
+ * <p>On a Bukkit server all three run on the main thread. On a region-threaded server each
+ * region ticks on its own thread, so state shared between tasks must be thread-safe.</p>
+ */
+public interface TaskScheduler {
+
+    /**
+     * Creates the scheduler for the running server: region-threaded when the server supports it,
+     * the Bukkit scheduler otherwise.
+     *
+     * @param plugin The plugin owning the tasks
+     * @return The scheduler
+     */
+    static TaskScheduler create(Plugin plugin) {
+        return RegionTaskScheduler.isSupported() ? new RegionTaskScheduler(plugin) : new BukkitTaskScheduler(plugin);
+    }
+
+    /**
+     * Runs a global task on the next tick.
+     *
+     * @param task The task
+     * @return The scheduled task
+     */
+    ScheduledTask runGlobal(Runnable task);
+
+    /**
+     * Runs a global task repeatedly.
+     *
+     * @param task The task
+     * @param delayTicks Ticks before the first run, at least 1
+     * @param periodTicks Ticks between runs
+     * @return The scheduled task
+     */
+    ScheduledTask runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs a task on the thread owning a chunk, on the next tick.
+     *
+     * @param world The world
+     * @param chunkX Chunk X
+     * @param chunkZ Chunk Z
+     * @param task The task
+     * @return The scheduled task
+     */
+    ScheduledTask runAtChunk(World world, int chunkX, int chunkZ, Runnable task);
+
+    /**
+     * Runs a task repeatedly on the thread owning a chunk.
+     *
+     * @param world The world
+     * @param chunkX Chunk X
+     * @param chunkZ Chunk Z
+     * @param task The task
+     * @param delayTicks Ticks before the first run, at least 1
+     * @param periodTicks Ticks between runs
+     * @return The scheduled task
+     */
+    ScheduledTask runAtChunkTimer(World world, int chunkX, int chunkZ, Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs a task on the thread owning an entity. The task is dropped if the entity is removed first.
+     *
+     * @param entity The entity
+     * @param task The task
+     * @param delayTicks Ticks before the task runs, at least 1
+     * @return The scheduled task, or null if the entity has already been removed
+     */
+    ScheduledTask runAtEntity(Entity entity, Runnable task, long delayTicks);
+
+    /**
+     * Runs a task off the tick threads, for file I/O.
+     *
+     * @param task The task
+     * @return The scheduled task
+     */
+    ScheduledTask runAsync(Runnable task);
+
+    /**
+     * Checks whether the current thread may touch a chunk.
+     *
+     * @param world The world
+     * @param chunkX Chunk X
+     * @param chunkZ Chunk Z
+     * @return true if the chunk is owned by the current thread
+     */
+    boolean isOwnedByCurrentRegion(World world, int chunkX, int chunkZ);
+
+    /**
+     * Checks whether the current thread may touch an entity.
+     *
+     * @param entity The entity
+     * @return true if the entity is owned by the current thread
+     */
+    boolean isOwnedByCurrentRegion(Entity entity);
+
+    /**
+     * Checks whether tasks may run on several threads at once.
+     *
+     * @return true on a region-threaded server
+     */
+    boolean isRegionThreaded();
+
+    /**
+     * Gets the side of the squares of chunks that are always owned by the same thread,
+     * as a power of two. A region is made of whole squares, so tasks for chunks in one square
+     * never run in parallel.
+     *
+     * @return The shift from chunk to square coordinates, 0 when not region-threaded
+     */
+    int getRegionShift();
+
+    /**
+     * Moves an entity. Call from the thread owning it. On a region-threaded server the destination
+     * may belong to another region, so the move completes on a later tick.
+     *
+     * @param entity The entity
+     * @param location Where to move it
+     */
+    void teleport(Entity entity, Location location);
+
+    /**
+     * Runs a task now if the current thread owns the chunk, otherwise on the owning thread next tick.
+     *
+     * @param world The world
+     * @param chunkX Chunk X
+     * @param chunkZ Chunk Z
+     * @param task The task
+     */
+    default void executeAt(World world, int chunkX, int chunkZ, Runnable task) {
+        if (isOwnedByCurrentRegion(world, chunkX, chunkZ)) {
+            task.run();
+        } else {
+            runAtChunk(world, chunkX, chunkZ, task);
+        }
+    }
+
+    /**
+     * Runs a task now if the current thread owns the entity, otherwise on the owning thread next tick.
+     *
+     * @param entity The entity
+     * @param task The task
+     */
+    default void executeAt(Entity entity, Runnable task) {
+        if (isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else {
+            runAtEntity(entity, task, 1L);
+        }
+    }
+}
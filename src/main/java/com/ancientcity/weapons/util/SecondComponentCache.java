@@ -0,0 +1,50 @@
+package com.ancientcity.weapons.util;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+
+import java.util.function.IntFunction;
+
+/**
+ * Lazily filled table of chat components keyed by a whole number of seconds, the component
+ * counterpart of {@link SecondStringCache}. Legacy-formatted text is converted once per value,
+ * so messages sent every second do not re-parse their colour codes on each send.
+ * Values past the table size are converted on every call.
+ *
+ * <p>Cached components are shared and must not be modified. Not thread-safe: components are
+ * mutable and published by a plain array write, so callers must guard the cache with a lock,
+ * as {@code CooldownDisplay} does, and hand components to other threads through a safe handoff
+ * such as a scheduled task.</p>
+ */
+public final class SecondComponentCache {
+
+    private final IntFunction<String> renderer;
+    private final BaseComponent[] cache;
+
+    public SecondComponentCache(IntFunction<String> renderer) {
+        this(renderer, SecondStringCache.DEFAULT_MAX_SECONDS);
+    }
+
+    public SecondComponentCache(IntFunction<String> renderer, int maxSeconds) {
+        this.renderer = renderer;
+        this.cache = new BaseComponent[maxSeconds + 1];
+    }
+
+    /**
+     * Gets the component for a number of seconds, converting and caching it on first use.
+     *
+     * @param seconds The number of seconds
+     * @return The shared component
+     */
+    public BaseComponent get(int seconds) {
+        if (seconds < 0 || seconds >= cache.length) {
+            return TextComponent.fromLegacy(renderer.apply(seconds));
+        }
+        BaseComponent value = cache[seconds];
+        if (value == null) {
+            value = TextComponent.fromLegacy(renderer.apply(seconds));
+            cache[seconds] = value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ancientcity.weapons.util;
+
+import java.util.function.IntFunction;
+
+/**
+ * Lazily filled table of strings keyed by a whole number of seconds,
+ * for messages that only change once per second such as cooldown countdowns.
+ * Values past the table size are rendered on every call.
+ *
+ * <p>Safe to share between threads: a racing miss renders the same string twice
+ * and one of them wins, and strings are immutable.</p>
+ */
+public final class SecondStringCache {
+
+    // One hour of distinct values; longer cooldowns fall back to rendering
+    public static final int DEFAULT_MAX_SECONDS = 3600;
+
+    private final IntFunction<String> renderer;
+    private final String[] cache;
+
+    public SecondStringCache(IntFunction<String> renderer) {
+        this(renderer, DEFAULT_MAX_SECONDS);
+    }
+
+    public SecondStringCache(IntFunction<String> renderer, int maxSeconds) {
+        this.renderer = renderer;
+        this.cache = new String[maxSeconds + 1];
+    }
+
+    /**
+     * Gets the string for a number of seconds, rendering and caching it on first use.
+     *
+     * @param seconds The number of seconds
+     * @return The rendered string
+     */
+    public String get(int seconds) {
+        if (seconds < 0 || seconds >= cache.length) {
+            return renderer.apply(seconds);
+        }
+        String value = cache[seconds];
+        if (value == null) {
+            value = renderer.apply(seconds);
+            cache[seconds] = value;
+        }
+        return value;
+    }
+}
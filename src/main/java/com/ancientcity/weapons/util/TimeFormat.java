@@ -0,0 +1,46 @@
+package com.ancientcity.weapons.util;
+
+/**
+ * Human-readable durations for chat messages and item lore.
+ * Free of Bukkit types so it can be benchmarked without a server.
+ * Each value is built once and then served from a {@link SecondStringCache}.
+ */
+public final class TimeFormat {
+
+    private static final SecondStringCache CACHE = new SecondStringCache(TimeFormat::render);
+
+    private TimeFormat() {
+    }
+
+    /**
+     * Formats a duration into a human-readable string.
+     *
+     * @param seconds The duration in seconds
+     * @return Formatted time string (e.g., "1 minute 30 seconds")
+     */
+    public static String format(int seconds) {
+        return CACHE.get(seconds);
+    }
+
+    private static String render(int seconds) {
+        if (seconds <= 0) {
+            return "0 seconds";
+        }
+
+        int minutes = seconds / 60;
+        int remainingSeconds = seconds % 60;
+
+        StringBuilder sb = new StringBuilder();
+        if (minutes > 0) {
+            sb.append(minutes).append(minutes == 1 ? " minute" : " minutes");
+            if (remainingSeconds > 0) {
+                sb.append(" ");
+            }
+        }
+        if (remainingSeconds > 0) {
+            sb.append(remainingSeconds).append(remainingSeconds == 1 ? " second" : " seconds");
+        }
+
+        return sb.toString();
+    }
+}